@@ -1,6 +1,10 @@
 package com.order.apachecamel;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.order.config.LogMarkers;
 import com.order.model.Order;
+import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
 import org.apache.camel.builder.RouteBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,10 +15,15 @@ public class FileToQueueRoute extends RouteBuilder {
 
     private static final Logger log = LoggerFactory.getLogger(FileToQueueRoute.class);
 
+    private static final String RAW_RECORD = "orderRawRecord";
+    private static final String ORDER_ID = "orderId";
+    // One error file per record, so records of the same file never overwrite each other
+    private static final String RECORD_FILE_NAME = "${file:onlyname.noext}-${exchangeProperty.CamelSplitIndex}.json";
+
     @Override
     public void configure() {
 
-        // Move invalid files to error folder
+        // Move unreadable files to error folder
         errorHandler(deadLetterChannel("file:error/orders")
                 .logHandled(true));
 
@@ -22,28 +31,55 @@ public class FileToQueueRoute extends RouteBuilder {
             .routeId("file-to-queue")
             .log("Processing file: ${header.CamelFileName}")
 
-            // JSON (file) -> Order
-            .unmarshal("orderJacksonDataFormat")
-
-            // Validate order
-            .process(exchange -> {
-                Order order = exchange.getIn().getBody(Order.class);
-
-                if (order.getOrderId() == null ||
-                    order.getCustomerId() == null ||
-                    order.getAmount() <= 0) {
-                    throw new IllegalArgumentException("Invalid Order Data");
-                }
+            // One file may hold a single order, a JSON array or NDJSON
+            .split(method("orderFileSplitter", "split")).streaming()
+                .choice()
+                    .when(body().isInstanceOf(OrderFileSplitter.Tail.class))
+                        // Unparsable rest of the file: streamed to the error folder, never read into memory
+                        .log("Malformed tail from record ${exchangeProperty.CamelSplitIndex} in ${header.CamelFileName}")
+                        .process(exchange -> exchange.getIn().setBody(
+                                exchange.getIn().getBody(OrderFileSplitter.Tail.class).open()))
+                        .setHeader(Exchange.FILE_NAME, simple(RECORD_FILE_NAME))
+                        .to("file:error/orders")
+                    .otherwise()
+                        .setProperty(RAW_RECORD, body())
+                        .doTry()
+                            // JSON (record) -> Order
+                            .unmarshal("orderJacksonDataFormat")
 
-                log.info("Validated OrderId={}", order.getOrderId());
-            })
+                            // Validate order
+                            .process(exchange -> {
+                                Order order = exchange.getIn().getBody(Order.class);
+                                OrderValidator.validate(order);
+                                exchange.setProperty(ORDER_ID, order.getOrderId());
+                            })
 
-            // Order -> JSON (IMPORTANT)
-            .marshal().json()
+                            // Order -> JSON (IMPORTANT)
+                            .marshal("orderJacksonDataFormat")
 
-            // Send JSON as TextMessage (CRITICAL FIX)
-            .to("activemq:queue:ORDER.CREATED.QUEUE?jmsMessageType=Text")
+                            // Send JSON as TextMessage (CRITICAL FIX)
+                            .to("activemq:queue:ORDER.CREATED.QUEUE?jmsMessageType=Text")
 
-            .log("Order sent to queue | OrderId=${body}");
+                            .process(exchange -> log.atInfo()
+                                    .addMarker(LogMarkers.HOT_PATH)
+                                    .addKeyValue("orderId", exchange.getProperty(ORDER_ID))
+                                    .addKeyValue("file", exchange.getIn().getHeader(Exchange.FILE_NAME))
+                                    .log("Order sent to queue"))
+                        .doCatch(IllegalArgumentException.class, JsonProcessingException.class)
+                            // Move only the invalid record to error folder
+                            .log("Invalid record ${exchangeProperty.CamelSplitIndex} in ${header.CamelFileName}: ${exception.message}")
+                            .setBody(exchangeProperty(RAW_RECORD))
+                            .setHeader(Exchange.FILE_NAME, simple(RECORD_FILE_NAME))
+                            .to("file:error/orders")
+                        .doCatch(Exception.class)
+                            // Not sent, e.g. the broker is down: keep the record for replay under its own name
+                            .log(LoggingLevel.ERROR,
+                                    "Failed to send record ${exchangeProperty.CamelSplitIndex} in ${header.CamelFileName}: ${exception.message}")
+                            .setBody(exchangeProperty(RAW_RECORD))
+                            .setHeader(Exchange.FILE_NAME, simple(RECORD_FILE_NAME))
+                            .to("file:error/orders")
+                        .end()
+                .end()
+            .end();
     }
 }
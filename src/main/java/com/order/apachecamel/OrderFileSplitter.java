@@ -0,0 +1,235 @@
+package com.order.apachecamel;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.camel.Exchange;
+import org.apache.camel.Header;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits an order file into one JSON document per order without loading the
+ * whole file into memory.
+ *
+ * <p>Files ending in {@code .ndjson} or {@code .jsonl} are read line by line, so
+ * a malformed line only affects that record. Any other file is read with a
+ * streaming parser and may contain a single order, a JSON array of orders or a
+ * sequence of concatenated orders. When such a file turns out to be malformed
+ * part-way through, the records before the error are still yielded, followed
+ * by a {@link Tail} pointing at the unread rest of the file. The tail is never
+ * read into memory; callers copy it from {@link Tail#open()} so only the
+ * broken part is dead-lettered, however large it is.
+ */
+@Component
+public class OrderFileSplitter {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * @return an iterator over the file's records, each a {@code String}
+     *         holding one JSON document, possibly followed by one {@link Tail}
+     */
+    public Iterator<Object> split(File file, @Header(Exchange.FILE_NAME) String fileName) throws IOException {
+        if (isLineDelimited(fileName)) {
+            return new LineIterator(Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8));
+        }
+        // A byte stream, so record offsets are byte positions the tail can be copied from
+        InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()));
+        return new DocumentIterator(file.toPath(), jsonFactory.createParser(in));
+    }
+
+    /**
+     * The unparsable rest of an order file, from {@code offset} to its end.
+     */
+    public record Tail(Path file, long offset) {
+
+        public InputStream open() throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                channel.position(offset);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            return Channels.newInputStream(channel);
+        }
+    }
+
+    private static boolean isLineDelimited(String fileName) {
+        return fileName != null && (fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl"));
+    }
+
+    /**
+     * Yields each non-blank line as-is; records are parsed later, one at a time.
+     */
+    private static final class LineIterator implements Iterator<Object>, Closeable {
+
+        private final BufferedReader reader;
+        private String next;
+        // The splitter closes the reader once exhausted and may still call hasNext() afterwards
+        private boolean exhausted;
+
+        LineIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null) {
+                    if (exhausted) {
+                        return false;
+                    }
+                    String line = reader.readLine();
+                    if (line == null) {
+                        exhausted = true;
+                        return false;
+                    }
+                    if (!line.isBlank()) {
+                        next = line;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = next;
+            next = null;
+            return line;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Walks root-level values (or the elements of a root-level array) and
+     * re-emits each one as compact JSON through a single reused buffer.
+     */
+    private final class DocumentIterator implements Iterator<Object>, Closeable {
+
+        private final Path file;
+        private final JsonParser parser;
+        private final StringWriter buffer = new StringWriter(256);
+        private boolean inArray;
+        private boolean started;
+        private JsonToken current;
+        // Byte offset just past the last record yielded; the tail starts here on a syntax error
+        private long recordEnd;
+        private boolean malformed;
+        private Tail tail;
+
+        DocumentIterator(Path file, JsonParser parser) {
+            this.file = file;
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (malformed) {
+                return tail != null;
+            }
+            try {
+                if (current == null) {
+                    current = parser.nextToken();
+                    if (!started) {
+                        started = true;
+                        if (current == JsonToken.START_ARRAY) {
+                            inArray = true;
+                            current = parser.nextToken();
+                        }
+                    }
+                }
+                return current != null && !(inArray && current == JsonToken.END_ARRAY);
+            } catch (JsonProcessingException e) {
+                markMalformed();
+                return tail != null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (!malformed) {
+                buffer.getBuffer().setLength(0);
+                try (JsonGenerator generator = jsonFactory.createGenerator(buffer)) {
+                    generator.copyCurrentStructure(parser);
+                } catch (JsonProcessingException e) {
+                    markMalformed();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            if (!malformed) {
+                recordEnd = parser.currentLocation().getByteOffset();
+                current = null;
+                return buffer.toString();
+            }
+            Tail rest = tail;
+            tail = null;
+            return rest;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+
+        private void markMalformed() {
+            malformed = true;
+            try {
+                parser.close();
+                tail = findTail();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Skips the separators after the last yielded record; null if nothing else remains
+        private Tail findTail() throws IOException {
+            try (InputStream in = new BufferedInputStream(new Tail(file, recordEnd).open())) {
+                long offset = recordEnd;
+                int b;
+                while ((b = in.read()) != -1) {
+                    if (!(b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == ',')) {
+                        return new Tail(file, offset);
+                    }
+                    offset++;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.order.apachecamel;
 
+import com.order.config.LogMarkers;
+import com.order.enums.OrderEventType;
 import com.order.model.Order;
+import com.order.service.OrderEventStreamService;
 import org.apache.camel.builder.RouteBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +14,12 @@ public class OrderQueueConsumer extends RouteBuilder {
 
     private static final Logger log = LoggerFactory.getLogger(OrderQueueConsumer.class);
 
+    private final OrderEventStreamService eventStream;
+
+    public OrderQueueConsumer(OrderEventStreamService eventStream) {
+        this.eventStream = eventStream;
+    }
+
     @Override
     public void configure() {
 
@@ -24,12 +33,14 @@ public class OrderQueueConsumer extends RouteBuilder {
             .process(exchange -> {
                 Order order = exchange.getIn().getBody(Order.class);
 
-                log.info(
-                    "Order processed | OrderId={} | CustomerId={} | Amount={}",
-                    order.getOrderId(),
-                    order.getCustomerId(),
-                    order.getAmount()
-                );
+                log.atInfo()
+                    .addMarker(LogMarkers.HOT_PATH)
+                    .addKeyValue("orderId", order.getOrderId())
+                    .addKeyValue("customerId", order.getCustomerId())
+                    .addKeyValue("amount", order.getAmount())
+                    .log("Order processed");
+
+                eventStream.publish(OrderEventType.PROCESSED, order);
             });
     }
 }
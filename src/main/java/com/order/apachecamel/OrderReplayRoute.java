@@ -0,0 +1,26 @@
+package com.order.apachecamel;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes orders replayed from the dead-letter folder to the same queue as
+ * live ingestion, without going through the file poller.
+ */
+@Component
+public class OrderReplayRoute extends RouteBuilder {
+
+    public static final String ENDPOINT = "direct:replay-order";
+
+    @Override
+    public void configure() {
+
+        from(ENDPOINT)
+            .routeId("replay-to-queue")
+
+            // Order -> JSON
+            .marshal("orderJacksonDataFormat")
+
+            .to("activemq:queue:ORDER.CREATED.QUEUE?jmsMessageType=Text");
+    }
+}
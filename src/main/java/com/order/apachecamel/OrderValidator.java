@@ -0,0 +1,21 @@
+package com.order.apachecamel;
+
+import com.order.model.Order;
+
+/**
+ * Validation applied to every order read from a file, on ingestion and on
+ * replay.
+ */
+public final class OrderValidator {
+
+    private OrderValidator() {
+    }
+
+    public static void validate(Order order) {
+        if (order.getOrderId() == null ||
+            order.getCustomerId() == null ||
+            order.getAmount() <= 0) {
+            throw new IllegalArgumentException("Invalid Order Data");
+        }
+    }
+}
@@ -2,14 +2,39 @@ package com.order.config;
 
 import jakarta.jms.ConnectionFactory;
 import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jms.connection.CachingConnectionFactory;
 
+import java.io.File;
+
+/**
+ * JMS connection to the order queue broker.
+ *
+ * <p>By default the app connects to the external broker at
+ * {@code spring.activemq.broker-url}. With {@code order.broker.embedded.enabled}
+ * it starts its own broker and connects over the in-JVM {@code vm://}
+ * transport; the embedded broker keeps messages in memory unless
+ * {@code order.broker.embedded.persistent} is set, in which case they are
+ * stored in KahaDB under {@code order.broker.embedded.data-directory} and
+ * survive a restart.
+ *
+ * <p>Connections are shared through Spring's {@link CachingConnectionFactory},
+ * or through a pooled-jms pool with {@code spring.activemq.pool.enabled}.
+ * Both choices are read at startup, so they also apply to the AOT-processed
+ * fast-startup build.
+ */
 @Configuration
 public class ActiveMQConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(ActiveMQConfig.class);
+
     @Value("${spring.activemq.broker-url:tcp://localhost:61616}")
     private String brokerUrl;
 
@@ -19,18 +44,75 @@ public class ActiveMQConfig {
     @Value("${spring.activemq.password:admin}")
     private String password;
 
-    @Bean(name = "jmsConnectionFactory")
-    public ConnectionFactory jmsConnectionFactory() {
-        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory();
-        connectionFactory.setBrokerURL(brokerUrl);
-        connectionFactory.setUserName(username);
-        connectionFactory.setPassword(password);
-        
+    @Value("${order.broker.embedded.enabled:false}")
+    private boolean embedded;
+
+    @Value("${order.broker.embedded.name:order-broker}")
+    private String embeddedBrokerName;
+
+    /**
+     * The embedded broker, or no bean at all unless
+     * {@code order.broker.embedded.enabled}. Decided here rather than with a
+     * bean condition, which Spring AOT would fix at build time.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public BrokerService embeddedBroker(
+            @Value("${order.broker.embedded.persistent:false}") boolean persistent,
+            @Value("${order.broker.embedded.data-directory:data/broker}") String dataDirectory) {
+        if (!embedded) {
+            return null;
+        }
+        BrokerService broker = new BrokerService();
+        broker.setBrokerName(embeddedBrokerName);
+        broker.setPersistent(persistent);
+        // Also holds the temp store that non-persistent messages spill to under memory pressure
+        broker.setDataDirectoryFile(new File(dataDirectory));
+        broker.setUseJmx(false);
+        // Stopped by the context, after the connection factories using it
+        broker.setUseShutdownHook(false);
+        logger.info("Embedded broker configured | Name={} | Persistent={} | DataDirectory={}",
+                embeddedBrokerName, persistent, dataDirectory);
+        return broker;
+    }
+
+    // Both factories release their connections in stop(); the caching one also closes them as a DisposableBean
+    @Bean(name = "jmsConnectionFactory", destroyMethod = "stop")
+    public ConnectionFactory jmsConnectionFactory(
+            ObjectProvider<BrokerService> embeddedBroker,
+            @Value("${spring.activemq.pool.enabled:false}") boolean pooled,
+            @Value("${spring.jms.cache.session-cache-size:10}") int sessionCacheSize,
+            @Value("${spring.activemq.pool.max-connections:1}") int maxConnections,
+            @Value("${spring.activemq.pool.max-sessions-per-connection:500}") int maxSessionsPerConnection) {
+        ActiveMQConnectionFactory connectionFactory = activeMQConnectionFactory(embeddedBroker);
+        if (pooled) {
+            JmsPoolConnectionFactory pool = new JmsPoolConnectionFactory();
+            pool.setConnectionFactory(connectionFactory);
+            pool.setMaxConnections(maxConnections);
+            pool.setMaxSessionsPerConnection(maxSessionsPerConnection);
+            return pool;
+        }
+
         // Use caching connection factory for better performance
         CachingConnectionFactory cachingConnectionFactory = new CachingConnectionFactory(connectionFactory);
-        cachingConnectionFactory.setSessionCacheSize(10);
-        
+        cachingConnectionFactory.setSessionCacheSize(sessionCacheSize);
+
         return cachingConnectionFactory;
     }
-}
 
+    private ActiveMQConnectionFactory activeMQConnectionFactory(ObjectProvider<BrokerService> embeddedBroker) {
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory();
+        if (embedded) {
+            // Makes sure the broker is started before the first connection; create=false
+            // fails fast instead of silently starting a second, unconfigured broker
+            if (embeddedBroker.getIfAvailable() == null) {
+                throw new IllegalStateException("order.broker.embedded.enabled is set but no embedded broker was created");
+            }
+            connectionFactory.setBrokerURL("vm://" + embeddedBrokerName + "?create=false");
+        } else {
+            connectionFactory.setBrokerURL(brokerUrl);
+        }
+        connectionFactory.setUserName(username);
+        connectionFactory.setPassword(password);
+        return connectionFactory;
+    }
+}
@@ -1,8 +1,6 @@
 package com.order.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.order.model.Order;
 import org.apache.camel.component.jackson.JacksonDataFormat;
 import org.springframework.context.annotation.Bean;
@@ -12,16 +10,11 @@ import org.springframework.context.annotation.Configuration;
 public class CamelJacksonConfig {
 
     @Bean
-    public JacksonDataFormat orderJacksonDataFormat() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-
+    public JacksonDataFormat orderJacksonDataFormat(ObjectMapper objectMapper) {
         JacksonDataFormat format = new JacksonDataFormat();
-        format.setObjectMapper(mapper);
+        format.setObjectMapper(objectMapper);
         format.setUnmarshalType(Order.class);
 
         return format;
     }
 }
-
@@ -0,0 +1,153 @@
+package com.order.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback turbo filter that thins out {@link LogMarkers#HOT_PATH} events below
+ * WARN, per logger.
+ *
+ * <p>Each {@code <logger>} entry applies to a logger name and its children
+ * (the longest name wins). It keeps one event in every {@code sampleEvery} and
+ * at most {@code maxPerSecond} events per second ({@code 0} for no limit).
+ * Events are dropped before their message is formatted or queued, so a
+ * dropped event costs a counter update. Other events are not touched.
+ *
+ * <p>Dropped events are counted per entry, and the count is logged at INFO at
+ * most every {@code dropReportSeconds} (60 by default), so that thinned-out
+ * logs do not go unnoticed.
+ */
+public class HotPathSamplingFilter extends TurboFilter {
+
+    private final List<LoggerSampling> loggers = new ArrayList<>();
+    private long dropReportNanos = TimeUnit.SECONDS.toNanos(60);
+
+    public void addLogger(LoggerSampling sampling) {
+        loggers.add(sampling);
+        // Longest name first, so the most specific entry matches
+        loggers.sort(Comparator.comparingInt((LoggerSampling entry) -> entry.name.length()).reversed());
+    }
+
+    public void setDropReportSeconds(int dropReportSeconds) {
+        this.dropReportNanos = TimeUnit.SECONDS.toNanos(Math.max(0, dropReportSeconds));
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (marker == null || !marker.contains(LogMarkers.HOT_PATH) || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        LoggerSampling sampling = samplingFor(logger.getName());
+        if (sampling == null) {
+            return FilterReply.NEUTRAL;
+        }
+        boolean accepted = sampling.accept();
+        if (sampling.canDrop()) {
+            reportDropped(sampling);
+        }
+        return accepted ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private void reportDropped(LoggerSampling sampling) {
+        long dropped = sampling.takeDroppedIfDue(System.nanoTime(), dropReportNanos);
+        if (dropped > 0) {
+            // Not marked HOT_PATH, so this filter lets it through
+            ((LoggerContext) getContext()).getLogger(HotPathSamplingFilter.class)
+                    .info("Dropped HOT_PATH log lines | Logger={} | Dropped={} | SampleEvery={} | MaxPerSecond={}",
+                            sampling.name, dropped, sampling.sampleEvery, sampling.maxPerSecond);
+        }
+    }
+
+    private LoggerSampling samplingFor(String loggerName) {
+        for (LoggerSampling sampling : loggers) {
+            if (sampling.matches(loggerName)) {
+                return sampling;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One {@code <logger>} entry of the filter configuration.
+     */
+    public static class LoggerSampling {
+
+        private String name = "";
+        private int sampleEvery = 1;
+        private int maxPerSecond;
+
+        private final AtomicLong seen = new AtomicLong();
+        private final AtomicLong windowSecond = new AtomicLong();
+        private final AtomicInteger inWindow = new AtomicInteger();
+        private final LongAdder dropped = new LongAdder();
+        private final AtomicLong lastReport = new AtomicLong(System.nanoTime());
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setSampleEvery(int sampleEvery) {
+            this.sampleEvery = Math.max(1, sampleEvery);
+        }
+
+        public void setMaxPerSecond(int maxPerSecond) {
+            this.maxPerSecond = Math.max(0, maxPerSecond);
+        }
+
+        boolean matches(String loggerName) {
+            return loggerName.startsWith(name)
+                    && (loggerName.length() == name.length() || loggerName.charAt(name.length()) == '.');
+        }
+
+        boolean canDrop() {
+            return sampleEvery > 1 || maxPerSecond > 0;
+        }
+
+        boolean accept() {
+            if (sampleEvery > 1 && seen.getAndIncrement() % sampleEvery != 0) {
+                dropped.increment();
+                return false;
+            }
+            if (maxPerSecond == 0) {
+                return true;
+            }
+            long second = System.nanoTime() / 1_000_000_000L;
+            long current = windowSecond.get();
+            // Whoever moves the window on resets the count; a race only lets a few extra events through
+            if (second != current && windowSecond.compareAndSet(current, second)) {
+                inWindow.set(0);
+            }
+            if (inWindow.incrementAndGet() <= maxPerSecond) {
+                return true;
+            }
+            dropped.increment();
+            return false;
+        }
+
+        /**
+         * Returns the events dropped since the last report and starts a new
+         * report period, or 0 if the period has not ended yet. Only one
+         * caller wins each period.
+         */
+        long takeDroppedIfDue(long now, long periodNanos) {
+            long last = lastReport.get();
+            if (now - last < periodNanos || !lastReport.compareAndSet(last, now)) {
+                return 0;
+            }
+            return dropped.sumThenReset();
+        }
+    }
+}
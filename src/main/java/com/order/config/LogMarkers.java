@@ -0,0 +1,19 @@
+package com.order.config;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * SLF4J markers shared across the application.
+ */
+public final class LogMarkers {
+
+    /**
+     * Marks per-order log lines. {@link HotPathSamplingFilter} samples and
+     * rate-limits them per logger as configured in {@code logback-spring.xml}.
+     */
+    public static final Marker HOT_PATH = MarkerFactory.getMarker("HOT_PATH");
+
+    private LogMarkers() {
+    }
+}
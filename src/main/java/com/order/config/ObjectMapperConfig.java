@@ -1,20 +1,39 @@
 package com.order.config;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Single ObjectMapper shared by the file write, the Camel routes and the
+ * order REST endpoints.
+ */
 @Configuration
 public class ObjectMapperConfig {
 
     @Bean
     public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+        // Field names are matched with switch/equals in OrderJsonModule, so interning buys nothing
+        JsonFactory jsonFactory = JsonFactory.builder()
+                .disable(JsonFactory.Feature.INTERN_FIELD_NAMES)
+                .build();
+
+        ObjectMapper mapper = new ObjectMapper(jsonFactory);
         mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(new OrderJsonModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // A record or request body is exactly one JSON value; this also keeps the malformed
+        // tail OrderFileSplitter yields for a broken file from parsing as its first order
+        mapper.enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
         return mapper;
     }
-}
 
+    @Bean
+    public OrderJsonHttpMessageConverter orderJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new OrderJsonHttpMessageConverter(objectMapper);
+    }
+}
@@ -9,8 +9,14 @@ import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
+/**
+ * API documentation metadata. Only needed once {@code /v3/api-docs} is first
+ * requested, so it is not built during startup.
+ */
 @Configuration
+@Lazy
 public class OpenApiConfig {
 
     @Bean
@@ -0,0 +1,109 @@
+package com.order.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.order.dto.CreateOrderRequest;
+import com.order.dto.CreateOrderResponse;
+import com.order.model.Order;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads and writes the order REST payloads with the shared {@link ObjectMapper}
+ * (and therefore {@link OrderJsonModule}) instead of the default MVC mapper.
+ *
+ * <p>Only {@link Order}, {@link CreateOrderRequest}, {@link CreateOrderResponse}
+ * and collections of {@link Order} are handled; everything else is left to the
+ * default converters. Readers and writers are resolved once per type.
+ *
+ * <p>Like the default MVC mapper, request bodies may carry properties the
+ * payload does not know; they are ignored rather than rejected, while files
+ * and queue messages read with the shared mapper stay strict.
+ */
+public class OrderJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public OrderJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == Order.class || clazz == CreateOrderRequest.class || clazz == CreateOrderResponse.class;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isOrderType(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        boolean supported = type != null ? isOrderType(type) : supports(clazz);
+        return supported && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return readers.computeIfAbsent(type, t -> objectMapper.readerFor(javaType(t))
+                            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES))
+                    .readValue(inputMessage.getBody());
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + ex.getOriginalMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Type key = type != null ? type : value.getClass();
+        try {
+            writers.computeIfAbsent(key, t -> objectMapper.writerFor(javaType(t)))
+                    .writeValue(StreamUtils.nonClosing(outputMessage.getBody()), value);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    private boolean isOrderType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return supports(clazz);
+        }
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw)) {
+            return parameterized.getActualTypeArguments()[0] == Order.class;
+        }
+        return false;
+    }
+
+    private JavaType javaType(Type type) {
+        return objectMapper.getTypeFactory().constructType(type);
+    }
+}
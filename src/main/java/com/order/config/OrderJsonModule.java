@@ -0,0 +1,237 @@
+package com.order.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.order.dto.CreateOrderRequest;
+import com.order.dto.CreateOrderResponse;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Hand-written streaming (de)serializers for the order payloads that are on
+ * every hot path: file write, file route, queue consumer and REST.
+ *
+ * <p>They produce and accept exactly the same JSON as bean (de)serialization,
+ * but skip reflection and property introspection. Tokens that are not in the
+ * usual shape (coercions, unknown properties) fall back to the standard
+ * handling, so error behaviour is unchanged.
+ */
+public class OrderJsonModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    // Pre-encoded field names, as bean serialization does
+    private static final SerializedString ORDER_ID = new SerializedString("orderId");
+    private static final SerializedString CUSTOMER_ID = new SerializedString("customerId");
+    private static final SerializedString PRODUCT = new SerializedString("product");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString[] STATUS_NAMES = Arrays.stream(STATUSES)
+            .map(status -> new SerializedString(status.name()))
+            .toArray(SerializedString[]::new);
+
+    public OrderJsonModule() {
+        super("OrderJsonModule");
+        addSerializer(Order.class, new OrderSerializer());
+        addDeserializer(Order.class, new OrderDeserializer());
+        addSerializer(CreateOrderRequest.class, new CreateOrderRequestSerializer());
+        addDeserializer(CreateOrderRequest.class, new CreateOrderRequestDeserializer());
+        addSerializer(CreateOrderResponse.class, new CreateOrderResponseSerializer());
+        addDeserializer(CreateOrderResponse.class, new CreateOrderResponseDeserializer());
+    }
+
+    static class OrderSerializer extends StdSerializer<Order> {
+
+        OrderSerializer() {
+            super(Order.class);
+        }
+
+        @Override
+        public void serialize(Order order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(order);
+            gen.writeFieldName(ORDER_ID);
+            gen.writeString(order.getOrderId());
+            gen.writeFieldName(CUSTOMER_ID);
+            gen.writeString(order.getCustomerId());
+            gen.writeFieldName(PRODUCT);
+            gen.writeString(order.getProduct());
+            gen.writeFieldName(AMOUNT);
+            gen.writeNumber(order.getAmount());
+            writeStatus(gen, order.getStatus());
+            gen.writeEndObject();
+        }
+    }
+
+    static class OrderDeserializer extends StdDeserializer<Order> {
+
+        OrderDeserializer() {
+            super(Order.class);
+        }
+
+        @Override
+        public Order deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Order order = new Order();
+            for (String name = startObject(p, ctxt, Order.class); name != null; name = p.nextFieldName()) {
+                p.nextToken();
+                switch (name) {
+                    case "orderId" -> order.setOrderId(readString(p, ctxt));
+                    case "customerId" -> order.setCustomerId(readString(p, ctxt));
+                    case "product" -> order.setProduct(readString(p, ctxt));
+                    case "amount" -> order.setAmount(readDouble(p, ctxt));
+                    case "status" -> order.setStatus(readStatus(p, ctxt));
+                    default -> ctxt.handleUnknownProperty(p, this, Order.class, name);
+                }
+            }
+            return order;
+        }
+    }
+
+    static class CreateOrderRequestSerializer extends StdSerializer<CreateOrderRequest> {
+
+        CreateOrderRequestSerializer() {
+            super(CreateOrderRequest.class);
+        }
+
+        @Override
+        public void serialize(CreateOrderRequest request, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(request);
+            gen.writeFieldName(CUSTOMER_ID);
+            gen.writeString(request.getCustomerId());
+            gen.writeFieldName(PRODUCT);
+            gen.writeString(request.getProduct());
+            gen.writeFieldName(AMOUNT);
+            gen.writeNumber(request.getAmount());
+            gen.writeEndObject();
+        }
+    }
+
+    static class CreateOrderRequestDeserializer extends StdDeserializer<CreateOrderRequest> {
+
+        CreateOrderRequestDeserializer() {
+            super(CreateOrderRequest.class);
+        }
+
+        @Override
+        public CreateOrderRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            CreateOrderRequest request = new CreateOrderRequest();
+            for (String name = startObject(p, ctxt, CreateOrderRequest.class); name != null; name = p.nextFieldName()) {
+                p.nextToken();
+                switch (name) {
+                    case "customerId" -> request.setCustomerId(readString(p, ctxt));
+                    case "product" -> request.setProduct(readString(p, ctxt));
+                    case "amount" -> request.setAmount(readDouble(p, ctxt));
+                    default -> ctxt.handleUnknownProperty(p, this, CreateOrderRequest.class, name);
+                }
+            }
+            return request;
+        }
+    }
+
+    static class CreateOrderResponseSerializer extends StdSerializer<CreateOrderResponse> {
+
+        CreateOrderResponseSerializer() {
+            super(CreateOrderResponse.class);
+        }
+
+        @Override
+        public void serialize(CreateOrderResponse response, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(response);
+            gen.writeFieldName(ORDER_ID);
+            gen.writeString(response.getOrderId());
+            gen.writeFieldName(STATUS);
+            gen.writeString(response.getStatus());
+            gen.writeEndObject();
+        }
+    }
+
+    static class CreateOrderResponseDeserializer extends StdDeserializer<CreateOrderResponse> {
+
+        CreateOrderResponseDeserializer() {
+            super(CreateOrderResponse.class);
+        }
+
+        @Override
+        public CreateOrderResponse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            CreateOrderResponse response = new CreateOrderResponse();
+            for (String name = startObject(p, ctxt, CreateOrderResponse.class); name != null; name = p.nextFieldName()) {
+                p.nextToken();
+                switch (name) {
+                    case "orderId" -> response.setOrderId(readString(p, ctxt));
+                    case "status" -> response.setStatus(readString(p, ctxt));
+                    default -> ctxt.handleUnknownProperty(p, this, CreateOrderResponse.class, name);
+                }
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Positions the parser on the first field name and returns it, or
+     * {@code null} for an empty object.
+     */
+    private static String startObject(JsonParser p, DeserializationContext ctxt, Class<?> type) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return p.nextFieldName();
+        }
+        if (token == JsonToken.FIELD_NAME) {
+            return p.currentName();
+        }
+        ctxt.handleUnexpectedToken(type, p);
+        return null;
+    }
+
+    private static void writeStatus(JsonGenerator gen, OrderStatus status) throws IOException {
+        if (status == null) {
+            gen.writeNullField("status");
+        } else {
+            gen.writeFieldName(STATUS);
+            gen.writeString(STATUS_NAMES[status.ordinal()]);
+        }
+    }
+
+    private static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return p.getText();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return ctxt.readValue(p, String.class);
+    }
+
+    private static double readDouble(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getDoubleValue();
+        }
+        Double value = ctxt.readValue(p, Double.class);
+        return value == null ? 0.0 : value;
+    }
+
+    private static OrderStatus readStatus(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_STRING) {
+            String text = p.getText();
+            for (OrderStatus status : STATUSES) {
+                if (status.name().equals(text)) {
+                    return status;
+                }
+            }
+        }
+        return ctxt.readValue(p, OrderStatus.class);
+    }
+}
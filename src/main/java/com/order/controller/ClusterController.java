@@ -0,0 +1,87 @@
+package com.order.controller;
+
+import com.order.dto.ClusterMembershipResponse;
+import com.order.dto.ClusterNodeRequest;
+import com.order.model.Order;
+import com.order.service.ClusterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cluster")
+@Tag(name = "Cluster", description = "Cluster membership APIs")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+public class ClusterController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterController.class);
+
+    private final ClusterService cluster;
+
+    public ClusterController(ClusterService cluster) {
+        this.cluster = cluster;
+    }
+
+    @GetMapping("/nodes")
+    @Operation(summary = "Get cluster membership", description = "Lists the nodes orders are partitioned across")
+    public ClusterMembershipResponse getNodes() {
+        return cluster.membership();
+    }
+
+    @PostMapping("/nodes")
+    @Operation(summary = "Add a node", description = "Adds a node to every member and moves its customers' orders to it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Node added"),
+            @ApiResponse(responseCode = "400", description = "Clustering disabled"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ClusterMembershipResponse addNode(@Valid @RequestBody ClusterNodeRequest request) {
+        logger.info("POST /api/cluster/nodes - Adding node | Node={}", request.getUrl());
+        return cluster.join(request.getUrl());
+    }
+
+    @DeleteMapping("/nodes")
+    @Operation(summary = "Remove a node", description = "Removes a node after it has handed its orders to the remaining nodes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Node removed"),
+            @ApiResponse(responseCode = "400", description = "Clustering disabled or unknown node"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ClusterMembershipResponse removeNode(@RequestParam String url) {
+        logger.info("DELETE /api/cluster/nodes - Removing node | Node={}", url);
+        return cluster.leave(url);
+    }
+
+    @PutMapping("/membership")
+    @Operation(summary = "Apply membership", description = "Node-to-node call applying a new node list")
+    @PreAuthorize("hasAnyRole('ADMIN', 'NODE')")
+    public ClusterMembershipResponse applyMembership(@RequestBody List<String> nodes) {
+        return cluster.applyMembership(nodes);
+    }
+
+    @PostMapping("/orders")
+    @Operation(summary = "Import orders", description = "Node-to-node call handing over orders after a membership change")
+    @PreAuthorize("hasAnyRole('ADMIN', 'NODE')")
+    public ResponseEntity<Void> importOrders(@RequestBody List<Order> orders) {
+        cluster.importOrders(orders);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,7 +2,11 @@ package com.order.controller;
 
 import com.order.dto.CreateOrderRequest;
 import com.order.dto.CreateOrderResponse;
+import com.order.dto.OrderPageResponse;
+import com.order.enums.OrderExportFormat;
+import com.order.enums.OrderStatus;
 import com.order.model.Order;
+import com.order.service.OrderExportService;
 import com.order.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,17 +16,26 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -31,11 +44,15 @@ import java.util.List;
 public class OrderController {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
 
     private final OrderService service;
+    private final OrderExportService exportService;
 
-    public OrderController(OrderService service) {
+    // Export is rarely used, so it is created on first use rather than at startup
+    public OrderController(OrderService service, @Lazy OrderExportService exportService) {
         this.service = service;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -48,14 +65,32 @@ public class OrderController {
     public ResponseEntity<CreateOrderResponse> createOrder(
             @Valid @RequestBody CreateOrderRequest request) {
         
-        logger.info("POST /api/orders - Creating order for customer: {}", request.getCustomerId());
+        logger.debug("POST /api/orders - Creating order for customer: {}", request.getCustomerId());
         Order order = service.createOrder(request);
-        logger.info("Order created successfully | OrderId={}", order.getOrderId());
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new CreateOrderResponse(order.getOrderId(), order.getStatus().name()));
     }
 
+    @PostMapping("/async")
+    @Operation(summary = "Create a new order asynchronously",
+            description = "Creates an order without holding a request thread while it is saved. "
+                    + "Responds once the order is durably accepted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Order created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "503", description = "Too many pending orders or acceptance timed out")
+    })
+    public CompletableFuture<ResponseEntity<CreateOrderResponse>> createOrderAsync(
+            @Valid @RequestBody CreateOrderRequest request) {
+
+        logger.debug("POST /api/orders/async - Creating order for customer: {}", request.getCustomerId());
+        return service.createOrderAsync(request)
+                .thenApply(order -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(new CreateOrderResponse(order.getOrderId(), order.getStatus().name())));
+    }
+
     @GetMapping("/{orderId}")
     @Operation(summary = "Get order by ID", description = "Retrieves an order by its unique identifier")
     @ApiResponses(value = {
@@ -77,5 +112,129 @@ public class OrderController {
     public List<Order> getOrdersByCustomer(@RequestParam String customerId) {
         return service.getOrdersByCustomer(customerId);
     }
-}
 
+    @GetMapping("/search")
+    @Operation(summary = "Search orders by product",
+            description = "Finds orders whose product contains every word of the query. "
+                    + "With prefix=true, words also match the start of longer product words.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid query or paging parameters"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public OrderPageResponse searchOrders(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "false") boolean prefix,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return service.searchOrdersByProduct(q, prefix, page, size);
+    }
+
+    @GetMapping("/filter")
+    @Operation(summary = "Filter orders",
+            description = "Finds orders by any combination of customer, status and amount range (inclusive), "
+                    + "sorted by amount")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or paging parameters"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public OrderPageResponse filterOrders(
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Double minAmount,
+            @RequestParam(required = false) Double maxAmount,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return service.filterOrders(customerId, status, minAmount, maxAmount, page, size);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export orders",
+            description = "Streams all orders as NDJSON or CSV, optionally filtered by status and amount range. "
+                    + "The response is gzip-compressed when the client sends Accept-Encoding: gzip.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export started"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Double minAmount,
+            @RequestParam(required = false) Double maxAmount,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        OrderExportFormat exportFormat = OrderExportFormat.fromValue(format);
+        if (minAmount != null && maxAmount != null && minAmount > maxAmount) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        logger.info("GET /api/orders/export - Exporting orders | Format={} | Status={} | Gzip={}",
+                exportFormat, status, gzip);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE);
+                exportService.export(exportFormat, status, minAmount, maxAmount, compressed);
+                compressed.finish();
+            } else {
+                exportService.export(exportFormat, status, minAmount, maxAmount, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + exportFormat.getExtension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip: listed as {@code gzip},
+     * or covered by {@code *}, with a non-zero q-value. An explicit
+     * {@code gzip;q=0} refuses it even when {@code *} is allowed.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals("gzip")) {
+                gzip = qValue(parts);
+            } else if (name.equals("*")) {
+                wildcard = qValue(parts);
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    // A malformed q-value counts as 0, so an unreadable preference never enables compression
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q'
+                    && parameter.charAt(1) == '=') {
+                try {
+                    double q = Double.parseDouble(parameter.substring(2).trim());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
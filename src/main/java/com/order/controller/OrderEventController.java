@@ -0,0 +1,50 @@
+package com.order.controller;
+
+import com.order.service.OrderEventStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/orders/events")
+@Tag(name = "Order Events", description = "Order event stream APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class OrderEventController {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderEventController.class);
+
+    private final OrderEventStreamService eventStream;
+
+    public OrderEventController(OrderEventStreamService eventStream) {
+        this.eventStream = eventStream;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to order events",
+            description = "Streams order CREATED and PROCESSED events as Server-Sent Events. "
+                    + "Reconnect with the Last-Event-ID header or the since parameter to resume.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public SseEmitter subscribe(
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        Long resumeFrom = lastEventId != null ? lastEventId : since;
+        logger.info("GET /api/orders/events - Subscribing | CustomerId={} | Since={}", customerId, resumeFrom);
+        return eventStream.subscribe(customerId, resumeFrom);
+    }
+}
@@ -0,0 +1,64 @@
+package com.order.controller;
+
+import com.order.dto.ReplayStatusResponse;
+import com.order.service.OrderReplayService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/orders/replay")
+@Tag(name = "Order Replay", description = "Dead-letter replay APIs")
+@SecurityRequirement(name = "bearerAuth")
+@PreAuthorize("hasRole('ADMIN')")
+public class OrderReplayController {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderReplayController.class);
+
+    private final OrderReplayService replayService;
+
+    public OrderReplayController(@Lazy OrderReplayService replayService) {
+        this.replayService = replayService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Replay dead-lettered orders",
+            description = "Revalidates and republishes the order files in the error folder in the background")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Replay started"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "409", description = "A replay is already running")
+    })
+    public ResponseEntity<ReplayStatusResponse> startReplay() throws IOException {
+        logger.info("POST /api/orders/replay - Starting replay");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(replayService.start());
+    }
+
+    @GetMapping
+    @Operation(summary = "Get replay progress", description = "Returns the progress of the current or last replay")
+    public ReplayStatusResponse getReplayStatus() {
+        return replayService.getStatus();
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Cancel replay", description = "Stops the running replay after the files in progress")
+    public ReplayStatusResponse cancelReplay() {
+        logger.info("DELETE /api/orders/replay - Cancelling replay");
+        return replayService.cancel();
+    }
+}
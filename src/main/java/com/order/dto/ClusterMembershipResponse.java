@@ -0,0 +1,21 @@
+package com.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO describing cluster membership as seen by one node.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterMembershipResponse {
+    private String self;
+    private List<String> nodes;
+    private long movedOrders;
+    // Orders are still being handed to their new owners
+    private boolean rebalancing;
+}
@@ -0,0 +1,18 @@
+package com.order.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for adding a node to the cluster.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterNodeRequest {
+
+    @NotBlank
+    private String url;
+}
@@ -0,0 +1,22 @@
+package com.order.dto;
+
+import com.order.enums.OrderEventType;
+import com.order.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO for an entry on the order event stream.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEvent {
+    private long sequence;
+    private OrderEventType type;
+    private Instant timestamp;
+    private Order order;
+}
@@ -0,0 +1,26 @@
+package com.order.dto;
+
+import com.order.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of an order query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageResponse {
+    private List<Order> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    /**
+     * False when counting stopped at a cap, in which case there are more
+     * matches than {@code totalElements}.
+     */
+    private boolean totalExact;
+}
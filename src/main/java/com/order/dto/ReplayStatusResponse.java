@@ -0,0 +1,24 @@
+package com.order.dto;
+
+import com.order.enums.ReplayState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO for the progress of a dead-letter replay.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayStatusResponse {
+    private ReplayState state;
+    private int totalFiles;
+    private int processedFiles;
+    private long republishedRecords;
+    private long invalidRecords;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
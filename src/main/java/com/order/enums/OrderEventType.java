@@ -0,0 +1,9 @@
+package com.order.enums;
+
+/**
+ * Enum representing the kind of change published on the order event stream.
+ */
+public enum OrderEventType {
+    CREATED,
+    PROCESSED
+}
@@ -0,0 +1,11 @@
+package com.order.enums;
+
+/**
+ * Enum representing the state of the dead-letter replay job.
+ */
+public enum ReplayState {
+    IDLE,
+    RUNNING,
+    COMPLETED,
+    CANCELLED
+}
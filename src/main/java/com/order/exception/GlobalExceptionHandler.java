@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -11,6 +12,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -35,6 +38,14 @@ public class GlobalExceptionHandler {
                 .body(createErrorResponse(HttpStatus.NOT_FOUND, "Order Not Found", ex.getMessage()));
     }
 
+    @ExceptionHandler(ReplayInProgressException.class)
+    public ResponseEntity<Map<String, Object>> handleReplayInProgressException(ReplayInProgressException ex) {
+        logger.warn("Replay rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(createErrorResponse(HttpStatus.CONFLICT, "Conflict", ex.getMessage()));
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<Map<String, Object>> handleBadCredentialsException(BadCredentialsException ex) {
         logger.error("Invalid credentials: {}", ex.getMessage());
@@ -43,6 +54,14 @@ public class GlobalExceptionHandler {
                 .body(createErrorResponse(HttpStatus.UNAUTHORIZED, "Unauthorized", ex.getMessage()));
     }
 
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Map<String, Object>> handleAccessDeniedException(AccessDeniedException ex) {
+        logger.error("Access denied: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.FORBIDDEN)
+                .body(createErrorResponse(HttpStatus.FORBIDDEN, "Forbidden", ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
         logger.error("Invalid argument: {}", ex.getMessage());
@@ -51,6 +70,15 @@ public class GlobalExceptionHandler {
                 .body(createErrorResponse(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage()));
     }
 
+    @ExceptionHandler({RejectedExecutionException.class, TimeoutException.class})
+    public ResponseEntity<Map<String, Object>> handleOverloadException(Exception ex) {
+        logger.warn("Request not accepted in time: {}", ex.toString());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+                        "Order could not be accepted in time, retry later"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
         logger.error("Unexpected error occurred", ex);
@@ -0,0 +1,11 @@
+package com.order.exception;
+
+/**
+ * Exception thrown when a replay is requested while another one is running.
+ */
+public class ReplayInProgressException extends RuntimeException {
+
+    public ReplayInProgressException() {
+        super("A replay is already running");
+    }
+}
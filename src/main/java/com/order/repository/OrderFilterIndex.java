@@ -0,0 +1,112 @@
+package com.order.repository;
+
+import com.order.enums.OrderStatus;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent sorted indexes of order ids by amount, over all orders and per
+ * {@link OrderStatus}.
+ *
+ * <p>Entries are ordered by amount and then order id, so an amount range,
+ * with or without a status, is a contiguous view of one skip list: a query
+ * visits only the orders it returns, in the order pages are served. Order
+ * counts, overall and per status, are kept alongside so that they need no
+ * walk over the skip lists.
+ */
+public class OrderFilterIndex {
+
+    static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::amount)
+            // A null id sorts after every id with the same amount, which makes it an inclusive upper bound
+            .thenComparing(Entry::orderId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final NavigableSet<Entry> byAmount = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<OrderStatus, NavigableSet<Entry>> byStatus = new EnumMap<>(OrderStatus.class);
+    private final LongAdder count = new LongAdder();
+    private final Map<OrderStatus, LongAdder> countByStatus = new EnumMap<>(OrderStatus.class);
+    // What each order is currently indexed under, so re-saving a mutated order still updates the index
+    private final ConcurrentHashMap<String, Indexed> indexed = new ConcurrentHashMap<>();
+
+    public OrderFilterIndex() {
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListSet<>(ORDER));
+            countByStatus.put(status, new LongAdder());
+        }
+    }
+
+    /**
+     * Indexes {@code orderId} under {@code amount} and {@code status},
+     * replacing what it was indexed under before.
+     */
+    public void index(String orderId, double amount, OrderStatus status) {
+        // compute is atomic per order, so concurrent saves of one order cannot interleave
+        indexed.compute(orderId, (id, old) -> {
+            Indexed current = new Indexed(amount, status);
+            if (current.equals(old)) {
+                return old;
+            }
+            if (old != null) {
+                unindex(id, old);
+            }
+            Entry entry = new Entry(amount, id);
+            byAmount.add(entry);
+            count.increment();
+            if (status != null) {
+                byStatus.get(status).add(entry);
+                countByStatus.get(status).increment();
+            }
+            return current;
+        });
+    }
+
+    public void remove(String orderId) {
+        indexed.computeIfPresent(orderId, (id, old) -> {
+            unindex(id, old);
+            return null;
+        });
+    }
+
+    /**
+     * Returns a live view of the orders with an amount between
+     * {@code minAmount} and {@code maxAmount} (inclusive, {@code null} for no
+     * bound), limited to {@code status} unless it is {@code null}, sorted by
+     * amount and then order id. The view is weakly consistent and its
+     * {@code size()} is not constant-time.
+     */
+    public NavigableSet<Entry> find(OrderStatus status, Double minAmount, Double maxAmount) {
+        NavigableSet<Entry> entries = status == null ? byAmount : byStatus.get(status);
+        Entry from = new Entry(minAmount == null ? Double.NEGATIVE_INFINITY : minAmount, "");
+        Entry to = new Entry(maxAmount == null ? Double.POSITIVE_INFINITY : maxAmount, null);
+        return entries.subSet(from, true, to, true);
+    }
+
+    /**
+     * Number of indexed orders with {@code status}, or of all indexed orders
+     * if it is {@code null}. Concurrent updates may not be reflected yet.
+     */
+    public long count(OrderStatus status) {
+        return (status == null ? count : countByStatus.get(status)).sum();
+    }
+
+    private void unindex(String orderId, Indexed old) {
+        Entry entry = new Entry(old.amount(), orderId);
+        byAmount.remove(entry);
+        count.decrement();
+        if (old.status() != null) {
+            byStatus.get(old.status()).remove(entry);
+            countByStatus.get(old.status()).decrement();
+        }
+    }
+
+    public record Entry(double amount, String orderId) {
+    }
+
+    private record Indexed(double amount, OrderStatus status) {
+    }
+}
@@ -1,32 +1,155 @@
 package com.order.repository;
 
+import com.order.enums.OrderStatus;
 import com.order.model.Order;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * In-memory order store. Orders are kept by id, for constant-time id lookups,
+ * and in local shards by customerId, so a customer lookup only scans the
+ * orders of one shard. Product, amount and status indexes are kept up to date
+ * on every save.
+ */
 @Repository
 public class OrderRepository {
 
-    private final Map<String, Order> orderStore = new ConcurrentHashMap<>();
+    private static final int DEFAULT_SHARDS = 16;
+
+    private final ConcurrentHashMap<String, Order> byId = new ConcurrentHashMap<>();
+    private final List<Map<String, Order>> shards;
+    private final ProductSearchIndex productIndex = new ProductSearchIndex();
+    private final OrderFilterIndex filterIndex = new OrderFilterIndex();
+
+    public OrderRepository() {
+        this(DEFAULT_SHARDS);
+    }
+
+    @Autowired
+    public OrderRepository(@Value("${order.repository.shards:16}") int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        List<Map<String, Order>> created = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            created.add(new ConcurrentHashMap<>());
+        }
+        this.shards = List.copyOf(created);
+    }
 
     public void save(Order order) {
-        orderStore.put(order.getOrderId(), order);
+        // compute is atomic per order, so the shards and indexes agree on the last save even when saves race
+        byId.compute(order.getOrderId(), (id, previous) -> {
+            if (previous != null && !Objects.equals(previous.getCustomerId(), order.getCustomerId())) {
+                shardFor(previous.getCustomerId()).remove(id);
+            }
+            shardFor(order.getCustomerId()).put(id, order);
+            productIndex.index(id, order.getProduct());
+            filterIndex.index(id, order.getAmount(), order.getStatus());
+            return order;
+        });
+    }
+
+    /**
+     * Replaces a stored order with a copy in {@code status} and moves it to
+     * the index of its new status, atomically with respect to {@link #save}.
+     * The order instance previously stored is left unchanged.
+     */
+    public Optional<Order> updateStatus(String orderId, OrderStatus status) {
+        return Optional.ofNullable(byId.computeIfPresent(orderId, (id, current) -> {
+            Order updated = new Order(id, current.getCustomerId(), current.getProduct(), current.getAmount(), status);
+            shardFor(updated.getCustomerId()).put(id, updated);
+            filterIndex.index(id, updated.getAmount(), status);
+            return updated;
+        }));
     }
 
     public Optional<Order> findById(String orderId) {
-        return Optional.ofNullable(orderStore.get(orderId));
+        return Optional.ofNullable(byId.get(orderId));
     }
 
     public List<Order> findByCustomerId(String customerId) {
-        return orderStore.values()
+        return shardFor(customerId).values()
                 .stream()
                 .filter(o -> o.getCustomerId().equals(customerId))
                 .collect(Collectors.toList());
     }
-}
 
+    public Optional<Order> remove(String orderId) {
+        Order[] removed = new Order[1];
+        // Under the same per-order lock as save, so a concurrent save is either removed entirely or kept entirely
+        byId.computeIfPresent(orderId, (id, order) -> {
+            shardFor(order.getCustomerId()).remove(id);
+            productIndex.index(id, null);
+            filterIndex.remove(id);
+            removed[0] = order;
+            return null;
+        });
+        return Optional.ofNullable(removed[0]);
+    }
+
+    /**
+     * Streams every order without copying the store. The stream is weakly
+     * consistent: orders saved while it is consumed may or may not appear.
+     */
+    public Stream<Order> streamAll() {
+        return byId.values().stream();
+    }
+
+    /**
+     * Ids of orders whose product contains every term of {@code query},
+     * sorted so that pages are stable. With {@code prefix} set, terms also
+     * match the start of longer words. The stream reads the index lazily.
+     */
+    public Stream<String> findIdsByProduct(String query, boolean prefix) {
+        return productIndex.search(query, prefix);
+    }
+
+    /**
+     * Ids of orders matching every given filter ({@code null} filters are
+     * ignored), sorted by amount and then id so that pages are stable. Amount
+     * bounds are inclusive.
+     *
+     * <p>Without {@code customerId} the stream reads the amount index lazily,
+     * so skipping to a page and taking its ids visits only those entries.
+     */
+    public Stream<String> findIdsByFilter(String customerId, OrderStatus status, Double minAmount, Double maxAmount) {
+        if (customerId != null) {
+            // A customer's orders are few and all in one shard, so filtering them beats any index
+            double min = minAmount == null ? Double.NEGATIVE_INFINITY : minAmount;
+            double max = maxAmount == null ? Double.POSITIVE_INFINITY : maxAmount;
+            return shardFor(customerId).values()
+                    .stream()
+                    .filter(o -> o.getCustomerId().equals(customerId)
+                            && (status == null || status == o.getStatus())
+                            && o.getAmount() >= min && o.getAmount() <= max)
+                    .map(o -> new OrderFilterIndex.Entry(o.getAmount(), o.getOrderId()))
+                    .sorted(OrderFilterIndex.ORDER)
+                    .map(OrderFilterIndex.Entry::orderId);
+        }
+        return filterIndex.find(status, minAmount, maxAmount).stream().map(OrderFilterIndex.Entry::orderId);
+    }
+
+    /**
+     * Number of orders with {@code status}, or of all orders if it is
+     * {@code null}, in constant time.
+     */
+    public long countByStatus(OrderStatus status) {
+        return filterIndex.count(status);
+    }
+
+    private Map<String, Order> shardFor(String customerId) {
+        int hash = customerId == null ? 0 : customerId.hashCode();
+        return shards.get(Math.floorMod(hash ^ (hash >>> 16), shards.size()));
+    }
+}
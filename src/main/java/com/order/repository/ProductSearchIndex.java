@@ -0,0 +1,235 @@
+package com.order.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Concurrent inverted index from product tokens to order ids.
+ *
+ * <p>Products are split into lower-case alphanumeric tokens. Tokens are kept
+ * sorted, so a prefix lookup only visits the tokens that start with the
+ * prefix, and each token's order ids are kept sorted too, so matches can be
+ * streamed in id order and a page only reads the ids up to its end.
+ */
+public class ProductSearchIndex {
+
+    private final ConcurrentHashMap<String, Posting> postings = new ConcurrentHashMap<>();
+    // Sorted view of the posting keys for prefix lookups
+    private final ConcurrentSkipListSet<String> tokens = new ConcurrentSkipListSet<>();
+    // Tokens each order is currently indexed under, so re-saving a mutated order still updates the index
+    private final ConcurrentHashMap<String, Set<String>> indexedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes {@code orderId} under the tokens of {@code product}, replacing
+     * whatever product it was indexed under before.
+     */
+    public void index(String orderId, String product) {
+        // compute is atomic per order, so concurrent saves of one order cannot interleave
+        indexedTokens.compute(orderId, (id, oldTokens) -> {
+            Set<String> previous = oldTokens == null ? Collections.emptySet() : oldTokens;
+            Set<String> newTokens = tokenize(product);
+            for (String token : previous) {
+                if (!newTokens.contains(token)) {
+                    remove(token, id);
+                }
+            }
+            for (String token : newTokens) {
+                if (!previous.contains(token)) {
+                    add(token, id);
+                }
+            }
+            // An immutable copy is array-backed, a fraction of the size of the HashSet
+            return newTokens.isEmpty() ? null : Set.copyOf(newTokens);
+        });
+    }
+
+    /**
+     * Streams, in ascending order, the ids of orders whose product contains
+     * every term of {@code query}. With {@code prefix} set, a term also
+     * matches any token that starts with it.
+     *
+     * <p>The stream walks the sorted ids of the term with the fewest matches
+     * and checks each against the other terms, so taking the first ids of a
+     * large result costs only as much as the ids read. It is weakly
+     * consistent with concurrent saves.
+     */
+    public Stream<String> search(String query, boolean prefix) {
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Stream.empty();
+        }
+        List<Posting> rarest = null;
+        long fewest = Long.MAX_VALUE;
+        for (String term : terms) {
+            List<Posting> matches = prefix ? prefixPostings(term) : exactPosting(term);
+            long size = matches.stream().mapToLong(posting -> posting.size.get()).sum();
+            if (size == 0) {
+                return Stream.empty();
+            }
+            if (size < fewest) {
+                rarest = matches;
+                fewest = size;
+            }
+        }
+        Iterator<String> candidates = rarest.size() == 1
+                ? rarest.get(0).ids.iterator()
+                : new MergingIterator(rarest);
+        Stream<String> ids = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(candidates, Spliterator.ORDERED | Spliterator.DISTINCT
+                        | Spliterator.NONNULL), false);
+        return terms.size() == 1 ? ids : ids.filter(id -> matchesAll(id, terms, prefix));
+    }
+
+    public int tokenCount() {
+        return postings.size();
+    }
+
+    private List<Posting> exactPosting(String term) {
+        Posting posting = postings.get(term);
+        return posting == null ? List.of() : List.of(posting);
+    }
+
+    private List<Posting> prefixPostings(String prefix) {
+        List<Posting> matches = new ArrayList<>();
+        for (String token : tokens.subSet(prefix, true, prefix + Character.MAX_VALUE, false)) {
+            Posting posting = postings.get(token);
+            if (posting != null) {
+                matches.add(posting);
+            }
+        }
+        return matches;
+    }
+
+    private boolean matchesAll(String orderId, Set<String> terms, boolean prefix) {
+        Set<String> orderTokens = indexedTokens.get(orderId);
+        if (orderTokens == null) {
+            return false;
+        }
+        for (String term : terms) {
+            boolean matched = prefix
+                    ? orderTokens.stream().anyMatch(token -> token.startsWith(term))
+                    : orderTokens.contains(term);
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Adds and removals run inside compute, which is atomic per token, so a
+    // posting is never dropped while another thread adds to it
+    private void add(String token, String orderId) {
+        postings.compute(token, (t, posting) -> {
+            Posting updated = posting;
+            if (updated == null) {
+                updated = new Posting();
+                tokens.add(t);
+            }
+            if (updated.ids.add(orderId)) {
+                updated.size.incrementAndGet();
+            }
+            return updated;
+        });
+    }
+
+    private void remove(String token, String orderId) {
+        postings.computeIfPresent(token, (t, posting) -> {
+            if (posting.ids.remove(orderId) && posting.size.decrementAndGet() == 0) {
+                tokens.remove(t);
+                return null;
+            }
+            return posting;
+        });
+    }
+
+    static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptySet();
+        }
+        Set<String> tokens = new HashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{Alnum}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Sorted order ids of one token. The size is kept separately because a
+     * skip list's {@code size()} walks the whole list.
+     */
+    private static final class Posting {
+        private final ConcurrentSkipListSet<String> ids = new ConcurrentSkipListSet<>();
+        private final AtomicInteger size = new AtomicInteger();
+    }
+
+    /**
+     * Merges the sorted ids of several postings into one ascending sequence
+     * without duplicates, for a prefix that matches several tokens.
+     */
+    private static final class MergingIterator implements Iterator<String> {
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::id));
+        private String last;
+        private String next;
+
+        MergingIterator(List<Posting> postings) {
+            for (Posting posting : postings) {
+                Iterator<String> ids = posting.ids.iterator();
+                if (ids.hasNext()) {
+                    heads.add(new Head(ids.next(), ids));
+                }
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            String current = next;
+            advance();
+            return current;
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null && !heads.isEmpty()) {
+                Head head = heads.poll();
+                if (head.ids().hasNext()) {
+                    heads.add(new Head(head.ids().next(), head.ids()));
+                }
+                // An order with two tokens sharing the prefix is in both postings
+                if (!head.id().equals(last)) {
+                    next = head.id();
+                    last = next;
+                }
+            }
+        }
+
+        private record Head(String id, Iterator<String> ids) {
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.order.repository;
+
+import com.order.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory user store. Passwords are only ever held as bcrypt hashes,
+ * computed ahead of time; the admin account is seeded from configuration.
+ */
+@Repository
+public class UserRepository {
+
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+
+    public UserRepository(
+            @Value("${auth.admin.username:admin}") String adminUsername,
+            @Value("${auth.admin.password-hash}") String adminPasswordHash) {
+        save(new User(adminUsername, adminPasswordHash, "ADMIN"));
+    }
+
+    public void save(User user) {
+        users.put(user.getUsername(), user);
+    }
+
+    public Optional<User> findByUsername(String username) {
+        return Optional.ofNullable(users.get(username));
+    }
+}
@@ -0,0 +1,179 @@
+package com.order.service;
+
+import com.order.dto.LoginResponse;
+import com.order.model.User;
+import com.order.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies credentials and issues access and refresh tokens.
+ *
+ * <p>A bcrypt check costs tens of milliseconds by design, so a successful
+ * check is remembered for {@code auth.credential-cache.ttl}: repeated logins
+ * with the same password within that window only compare a salted SHA-256
+ * digest. Refresh tokens let clients renew an access token without sending
+ * their password at all; each refresh token is single-use and replaced on
+ * every refresh. A user holds one refresh token at a time, so a new login
+ * revokes the previous one, and at most {@code auth.refresh-token.max-entries}
+ * are held in total; past that, logins return no refresh token until
+ * expired ones are purged.
+ */
+@Service
+public class AuthService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+    private static final String DEFAULT_ROLE = "USER";
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final boolean acceptAnyUser;
+    private final long credentialTtl;
+    private final int credentialCacheSize;
+    private final long refreshExpiration;
+    private final int refreshTokenLimit;
+
+    private final SecureRandom random = new SecureRandom();
+    // Per-process salt, so cached digests are useless outside this JVM
+    private final byte[] credentialSalt = new byte[16];
+    private final Map<String, VerifiedCredential> verifiedCredentials = new ConcurrentHashMap<>();
+    private final Map<String, RefreshToken> refreshTokens = new ConcurrentHashMap<>();
+    // Username -> that user's only live refresh token
+    private final Map<String, String> refreshTokensByUser = new ConcurrentHashMap<>();
+
+    public AuthService(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            JwtService jwtService,
+            @Value("${auth.accept-any-user:true}") boolean acceptAnyUser,
+            @Value("${auth.credential-cache.ttl:300000}") long credentialTtl,
+            @Value("${auth.credential-cache.max-entries:10000}") int credentialCacheSize,
+            @Value("${jwt.refresh-expiration:604800000}") long refreshExpiration,
+            @Value("${auth.refresh-token.max-entries:100000}") int refreshTokenLimit) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+        this.acceptAnyUser = acceptAnyUser;
+        this.credentialTtl = credentialTtl;
+        this.credentialCacheSize = credentialCacheSize;
+        this.refreshExpiration = refreshExpiration;
+        this.refreshTokenLimit = refreshTokenLimit;
+        random.nextBytes(credentialSalt);
+    }
+
+    public LoginResponse login(String username, String password) {
+        String role = authenticate(username, password)
+                .orElseThrow(() -> {
+                    logger.warn("Invalid login attempt for user: {}", username);
+                    return new BadCredentialsException("Invalid credentials");
+                });
+        logger.info("Login successful for user: {} with role: {}", username, role);
+        return issueTokens(username, role);
+    }
+
+    public LoginResponse refresh(String refreshToken) {
+        // remove makes the token single-use even under concurrent refreshes
+        RefreshToken stored = refreshTokens.remove(refreshToken);
+        if (stored == null || stored.expiresAt() < System.currentTimeMillis()) {
+            logger.warn("Invalid or expired refresh token");
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        refreshTokensByUser.remove(stored.username(), refreshToken);
+        logger.debug("Refreshing tokens for user: {}", stored.username());
+        return issueTokens(stored.username(), stored.role());
+    }
+
+    /**
+     * Drops expired credential-cache entries and refresh tokens.
+     */
+    @Scheduled(fixedDelayString = "${auth.purge-interval:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        verifiedCredentials.values().removeIf(entry -> entry.expiresAt() < now);
+        refreshTokens.values().removeIf(token -> token.expiresAt() < now);
+        refreshTokensByUser.values().removeIf(token -> !refreshTokens.containsKey(token));
+    }
+
+    private Optional<String> authenticate(String username, String password) {
+        Optional<User> user = userRepository.findByUsername(username);
+        if (user.isEmpty()) {
+            // Demo mode: unknown users get the USER role, as before the user store existed
+            return acceptAnyUser ? Optional.of(DEFAULT_ROLE) : Optional.empty();
+        }
+
+        User account = user.get();
+        byte[] digest = digest(password);
+        VerifiedCredential cached = verifiedCredentials.get(username);
+        if (cached != null
+                && cached.expiresAt() >= System.currentTimeMillis()
+                // A changed hash means the password was changed since it was cached
+                && cached.passwordHash().equals(account.getPasswordHash())
+                && MessageDigest.isEqual(cached.digest(), digest)) {
+            return Optional.of(account.getRole());
+        }
+
+        if (!passwordEncoder.matches(password, account.getPasswordHash())) {
+            return Optional.empty();
+        }
+        if (credentialTtl > 0 && (verifiedCredentials.size() < credentialCacheSize
+                || verifiedCredentials.containsKey(username))) {
+            verifiedCredentials.put(username, new VerifiedCredential(account.getPasswordHash(), digest,
+                    System.currentTimeMillis() + credentialTtl));
+        }
+        return Optional.of(account.getRole());
+    }
+
+    private LoginResponse issueTokens(String username, String role) {
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        RefreshToken stored = new RefreshToken(username, role, System.currentTimeMillis() + refreshExpiration);
+        // Replacing the user's previous token keeps the map at one entry per user
+        String issued = refreshTokensByUser.compute(username, (user, previous) -> {
+            if (previous != null) {
+                refreshTokens.remove(previous);
+            } else if (refreshTokens.size() >= refreshTokenLimit) {
+                return null;
+            }
+            refreshTokens.put(refreshToken, stored);
+            return refreshToken;
+        });
+        if (issued == null) {
+            logger.warn("Refresh token limit reached, login without refresh token | User={} | Limit={}",
+                    username, refreshTokenLimit);
+        }
+        return new LoginResponse(jwtService.generateToken(username, role), issued);
+    }
+
+    private byte[] digest(String password) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(credentialSalt);
+            return sha256.digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedCredential(String passwordHash, byte[] digest, long expiresAt) {
+    }
+
+    private record RefreshToken(String username, String role, long expiresAt) {
+    }
+}
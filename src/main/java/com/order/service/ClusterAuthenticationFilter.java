@@ -0,0 +1,75 @@
+package com.order.service;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Admits node-to-node calls only when they carry the cluster's shared secret.
+ *
+ * <p>A request claiming to be forwarded by a peer, or calling one of the
+ * endpoints only peers use, is rejected with 403 unless its
+ * {@link ClusterService#SECRET_HEADER} matches {@code order.cluster.secret}.
+ * Accepted requests are marked so that {@link ClusterService} serves them
+ * locally, and node endpoint calls made without a caller's JWT, such as an
+ * order hand-off from a background thread, are authenticated as
+ * {@code ROLE_NODE}.
+ */
+@Component
+public class ClusterAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterAuthenticationFilter.class);
+    private static final Set<String> NODE_ENDPOINTS = Set.of("/api/cluster/membership", "/api/cluster/orders");
+
+    private final ClusterService cluster;
+
+    public ClusterAuthenticationFilter(ClusterService cluster) {
+        this.cluster = cluster;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (request.getHeader(ClusterService.FORWARDED_HEADER) == null
+                && !NODE_ENDPOINTS.contains(request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!cluster.isNodeSecret(request.getHeader(ClusterService.SECRET_HEADER))) {
+            logger.warn("Rejected node-to-node call without a valid cluster secret | Uri={} | RemoteAddress={}",
+                    request.getRequestURI(), request.getRemoteAddr());
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+
+        request.setAttribute(ClusterService.NODE_REQUEST_ATTRIBUTE, Boolean.TRUE);
+        if (NODE_ENDPOINTS.contains(request.getRequestURI())
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    request.getHeader(ClusterService.FORWARDED_HEADER),
+                    null,
+                    List.of(new SimpleGrantedAuthority("ROLE_NODE"))
+            );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,470 @@
+package com.order.service;
+
+import com.order.dto.ClusterMembershipResponse;
+import com.order.dto.CreateOrderRequest;
+import com.order.dto.CreateOrderResponse;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import com.order.repository.OrderRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Partitions orders across nodes by customerId on a consistent-hash ring and
+ * forwards requests to the node that owns a customer.
+ *
+ * <p>Disabled by default, in which case every customer is local. Membership is
+ * changed through any node, which broadcasts the new node list; every node
+ * switches to it at once and then, in the background, hands the orders it no
+ * longer owns to their new owner. Forwarded and broadcast calls reuse the
+ * caller's JWT, so all nodes must share {@code jwt.secret}, and carry
+ * {@code order.cluster.secret}, without which
+ * {@link ClusterAuthenticationFilter} turns them away.
+ */
+@Service
+public class ClusterService {
+
+    public static final String FORWARDED_HEADER = "X-Order-Forwarded";
+    public static final String SECRET_HEADER = "X-Order-Cluster-Secret";
+    public static final String NODE_REQUEST_ATTRIBUTE = ClusterService.class.getName() + ".nodeRequest";
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterService.class);
+    private static final int TRANSFER_BATCH_SIZE = 1000;
+    private static final long REBALANCE_POLL_MILLIS = 200;
+    private static final ParameterizedTypeReference<List<Order>> ORDER_LIST = new ParameterizedTypeReference<>() {
+    };
+
+    private final OrderRepository repository;
+    private final boolean enabled;
+    private final String self;
+    private final int virtualNodes;
+    private final byte[] secret;
+    private final long rebalanceTimeoutMillis;
+    private final RestClient restClient;
+    // One rebalance at a time, each against the ring current when it starts
+    private final ExecutorService rebalancer;
+    private final AtomicInteger pendingRebalances = new AtomicInteger();
+    private final AtomicLong movedOrders = new AtomicLong();
+    private final AtomicLong membershipVersion = new AtomicLong();
+    private volatile ConsistentHashRing ring;
+
+    public ClusterService(
+            OrderRepository repository,
+            @Value("${order.cluster.enabled:false}") boolean enabled,
+            @Value("${order.cluster.self:http://localhost:${server.port:8080}}") String self,
+            @Value("${order.cluster.nodes:}") List<String> nodes,
+            @Value("${order.cluster.virtual-nodes:128}") int virtualNodes,
+            @Value("${order.cluster.timeout:5000}") int timeout,
+            @Value("${order.cluster.rebalance-timeout:600000}") long rebalanceTimeoutMillis,
+            @Value("${order.cluster.secret:}") String secret) {
+        if (enabled && secret.isBlank()) {
+            throw new IllegalStateException("order.cluster.secret must be set when clustering is enabled");
+        }
+        this.repository = repository;
+        this.enabled = enabled;
+        this.self = normalize(self);
+        this.virtualNodes = virtualNodes;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.rebalanceTimeoutMillis = rebalanceTimeoutMillis;
+        this.ring = new ConsistentHashRing(withSelf(nodes), virtualNodes);
+        this.rebalancer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-rebalance");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether this node should serve {@code customerId}. Forwarded requests
+     * are always served locally so that nodes with briefly different views of
+     * the ring cannot bounce a request between them.
+     */
+    public boolean isLocal(String customerId) {
+        return !enabled || isForwardedRequest() || self.equals(ring.ownerOf(customerId));
+    }
+
+    /**
+     * Whether {@code presented} is this cluster's shared secret. Always false
+     * while clustering is disabled.
+     */
+    public boolean isNodeSecret(String presented) {
+        return enabled && presented != null
+                && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String ownerOf(String customerId) {
+        return ring.ownerOf(customerId);
+    }
+
+    /**
+     * Changes every time a node list is applied. Read it before
+     * {@link #isLocal} and pass it to {@link #handOffIfMoved} after saving.
+     */
+    public long membershipVersion() {
+        return membershipVersion.get();
+    }
+
+    /**
+     * Hands a just-saved order to its owner if the membership changed since
+     * {@code version} and the customer moved to another node. A save that
+     * passed {@link #isLocal} under the old ring can land after the
+     * rebalance has already collected the orders to move, and would
+     * otherwise stay on a node that no longer owns it.
+     */
+    public void handOffIfMoved(Order order, long version) {
+        if (!enabled || membershipVersion.get() == version) {
+            return;
+        }
+        String owner = ownerOf(order.getCustomerId());
+        if (owner.equals(self)) {
+            return;
+        }
+        try {
+            transfer(owner, List.of(order));
+            repository.remove(order.getOrderId());
+            logger.info("Order handed off after a membership change | OrderId={} | Owner={}",
+                    order.getOrderId(), owner);
+        } catch (RestClientException e) {
+            // Still reachable through findOnPeers; the next rebalance retries
+            logger.warn("Order hand-off failed | OrderId={} | Owner={} | Reason={}",
+                    order.getOrderId(), owner, e.getMessage());
+        }
+    }
+
+    /**
+     * This node's ring, the orders it handed off since the last membership
+     * change and whether it is still handing orders off.
+     */
+    public ClusterMembershipResponse membership() {
+        return new ClusterMembershipResponse(self, ring.getNodes(), movedOrders.get(), pendingRebalances.get() > 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebalancer.shutdownNow();
+    }
+
+    public Order forwardCreate(CreateOrderRequest request) {
+        String owner = ownerOf(request.getCustomerId());
+        logger.debug("Forwarding order creation | CustomerId={} | Owner={}", request.getCustomerId(), owner);
+        CreateOrderResponse response = restClient.post()
+                .uri(owner + "/api/orders")
+                .headers(this::forwardHeaders)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .retrieve()
+                .body(CreateOrderResponse.class);
+        return new Order(response.getOrderId(), request.getCustomerId(), request.getProduct(), request.getAmount(),
+                OrderStatus.valueOf(response.getStatus()));
+    }
+
+    public List<Order> forwardGetOrdersByCustomer(String customerId) {
+        String owner = ownerOf(customerId);
+        logger.debug("Forwarding customer lookup | CustomerId={} | Owner={}", customerId, owner);
+        return restClient.get()
+                .uri(owner + "/api/orders?customerId={customerId}", customerId)
+                .headers(this::forwardHeaders)
+                .retrieve()
+                .body(ORDER_LIST);
+    }
+
+    /**
+     * Looks an order up on every other node; order ids do not say which
+     * customer, and so which node, they belong to.
+     */
+    public Optional<Order> findOnPeers(String orderId) {
+        if (!enabled || isForwardedRequest()) {
+            return Optional.empty();
+        }
+        for (String node : ring.getNodes()) {
+            if (node.equals(self)) {
+                continue;
+            }
+            try {
+                Order order = restClient.get()
+                        .uri(node + "/api/orders/{orderId}", orderId)
+                        .headers(this::forwardHeaders)
+                        .retrieve()
+                        .body(Order.class);
+                if (order != null) {
+                    return Optional.of(order);
+                }
+            } catch (RestClientResponseException e) {
+                if (e.getStatusCode().value() != HttpStatus.NOT_FOUND.value()) {
+                    logger.warn("Order lookup failed on peer | OrderId={} | Node={} | Status={}",
+                            orderId, node, e.getStatusCode().value());
+                }
+            } catch (RestClientException e) {
+                // A peer that is down cannot hold the answer back for the others
+                logger.warn("Order lookup failed on peer | OrderId={} | Node={} | Reason={}",
+                        orderId, node, e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public ClusterMembershipResponse join(String node) {
+        Set<String> nodes = new LinkedHashSet<>(ring.getNodes());
+        nodes.add(normalize(node));
+        return broadcast(List.copyOf(nodes), List.copyOf(nodes));
+    }
+
+    public ClusterMembershipResponse leave(String node) {
+        String leaving = normalize(node);
+        Set<String> nodes = new LinkedHashSet<>(ring.getNodes());
+        if (!nodes.remove(leaving)) {
+            throw new IllegalArgumentException("Node is not a cluster member: " + leaving);
+        }
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Cannot remove the last cluster node");
+        }
+        // The leaving node is told too, so that it hands its orders off
+        List<String> notify = new ArrayList<>(nodes);
+        notify.add(leaving);
+        return broadcast(List.copyOf(nodes), notify);
+    }
+
+    /**
+     * Applies a node list received from a peer and starts moving away the
+     * orders this node no longer owns. Returns once the ring is switched;
+     * {@link #membership()} reports when the hand-off has finished.
+     */
+    public ClusterMembershipResponse applyMembership(List<String> nodes) {
+        requireEnabled();
+        List<String> normalized = nodes.stream().map(ClusterService::normalize).distinct().toList();
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Cluster must have at least one node");
+        }
+        synchronized (this) {
+            ring = new ConsistentHashRing(normalized, virtualNodes);
+            membershipVersion.incrementAndGet();
+            movedOrders.set(0);
+            pendingRebalances.incrementAndGet();
+        }
+        rebalancer.execute(this::rebalance);
+        logger.info("Cluster membership applied | Nodes={}", normalized);
+        return membership();
+    }
+
+    public void importOrders(List<Order> orders) {
+        requireEnabled();
+        orders.forEach(repository::save);
+        logger.info("Imported {} orders from a peer", orders.size());
+    }
+
+    /**
+     * Switches every node in {@code notify}, then this one, to {@code nodes}.
+     *
+     * <p>Every peer is first checked to be reachable, so that an unreachable
+     * node fails the change before any ring is switched. If a peer still
+     * fails to apply the list, the peers already switched are put back on
+     * the current list, and the change fails. Once every node has switched,
+     * this waits up to {@code order.cluster.rebalance-timeout} for all of
+     * them to finish handing off orders.
+     */
+    private ClusterMembershipResponse broadcast(List<String> nodes, List<String> notify) {
+        requireEnabled();
+        List<String> previous = ring.getNodes();
+        List<String> peers = notify.stream().filter(node -> !node.equals(self)).toList();
+        for (String node : peers) {
+            restClient.get()
+                    .uri(node + "/api/cluster/nodes")
+                    .headers(this::forwardHeaders)
+                    .retrieve()
+                    .toBodilessEntity();
+        }
+
+        List<String> applied = new ArrayList<>();
+        for (String node : peers) {
+            try {
+                putMembership(node, nodes);
+                applied.add(node);
+            } catch (RestClientException e) {
+                logger.error("Membership change failed, rolling back | Node={} | Reason={}", node, e.getMessage());
+                rollback(applied, previous);
+                throw e;
+            }
+        }
+        applyMembership(nodes);
+        return awaitRebalance(nodes, peers);
+    }
+
+    // Polls every node until none is still handing orders off, or the timeout passes
+    private ClusterMembershipResponse awaitRebalance(List<String> nodes, List<String> peers) {
+        long deadline = System.currentTimeMillis() + rebalanceTimeoutMillis;
+        while (true) {
+            long moved = movedOrders.get();
+            boolean rebalancing = pendingRebalances.get() > 0;
+            for (String node : peers) {
+                try {
+                    ClusterMembershipResponse status = restClient.get()
+                            .uri(node + "/api/cluster/nodes")
+                            .headers(this::forwardHeaders)
+                            .retrieve()
+                            .body(ClusterMembershipResponse.class);
+                    moved += status.getMovedOrders();
+                    rebalancing |= status.isRebalancing();
+                } catch (RestClientException e) {
+                    logger.warn("Rebalance status unavailable | Node={} | Reason={}", node, e.getMessage());
+                    rebalancing = true;
+                }
+            }
+            if (!rebalancing || System.currentTimeMillis() >= deadline) {
+                if (rebalancing) {
+                    logger.warn("Rebalance still running after {} ms | Nodes={}", rebalanceTimeoutMillis, nodes);
+                }
+                return new ClusterMembershipResponse(self, nodes, moved, rebalancing);
+            }
+            try {
+                Thread.sleep(REBALANCE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new ClusterMembershipResponse(self, nodes, moved, true);
+            }
+        }
+    }
+
+    private void rollback(List<String> applied, List<String> previous) {
+        for (String node : applied) {
+            try {
+                putMembership(node, previous);
+            } catch (RestClientException e) {
+                // Nothing left to fall back on; an admin has to re-apply the membership through any node
+                logger.error("Membership rollback failed, node has a different ring | Node={} | Nodes={} | Reason={}",
+                        node, previous, e.getMessage());
+            }
+        }
+    }
+
+    private void putMembership(String node, List<String> nodes) {
+        restClient.put()
+                .uri(node + "/api/cluster/membership")
+                .headers(this::forwardHeaders)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(nodes)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private void rebalance() {
+        try {
+            long moved = moveUnownedOrders();
+            logger.info("Cluster rebalance finished | Nodes={} | MovedOrders={}", ring.getNodes(), moved);
+        } catch (RuntimeException e) {
+            // The orders stay here, still found through findOnPeers; the next membership change retries them
+            logger.error("Cluster rebalance failed | Nodes={} | Reason={}", ring.getNodes(), e.getMessage());
+        } finally {
+            pendingRebalances.decrementAndGet();
+        }
+    }
+
+    private long moveUnownedOrders() {
+        ConsistentHashRing current = ring;
+        Map<String, List<Order>> moving = new HashMap<>();
+        repository.streamAll()
+                .filter(order -> !self.equals(current.ownerOf(order.getCustomerId())))
+                .forEach(order -> moving.computeIfAbsent(current.ownerOf(order.getCustomerId()), n -> new ArrayList<>())
+                        .add(order));
+
+        long moved = 0;
+        for (Map.Entry<String, List<Order>> entry : moving.entrySet()) {
+            List<Order> orders = entry.getValue();
+            for (int from = 0; from < orders.size(); from += TRANSFER_BATCH_SIZE) {
+                List<Order> batch = orders.subList(from, Math.min(from + TRANSFER_BATCH_SIZE, orders.size()));
+                transfer(entry.getKey(), batch);
+                // Only drop local copies once the new owner has accepted them
+                batch.forEach(order -> repository.remove(order.getOrderId()));
+                moved += batch.size();
+                movedOrders.addAndGet(batch.size());
+            }
+        }
+        return moved;
+    }
+
+    private void transfer(String node, List<Order> orders) {
+        restClient.post()
+                .uri(node + "/api/cluster/orders")
+                .headers(this::forwardHeaders)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(orders)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private void forwardHeaders(HttpHeaders headers) {
+        headers.set(FORWARDED_HEADER, self);
+        headers.set(SECRET_HEADER, new String(secret, StandardCharsets.UTF_8));
+        HttpServletRequest request = currentRequest();
+        if (request != null && request.getHeader(HttpHeaders.AUTHORIZATION) != null) {
+            headers.set(HttpHeaders.AUTHORIZATION, request.getHeader(HttpHeaders.AUTHORIZATION));
+        }
+    }
+
+    // Only set by ClusterAuthenticationFilter, after checking the shared secret
+    private boolean isForwardedRequest() {
+        HttpServletRequest request = currentRequest();
+        return request != null && Boolean.TRUE.equals(request.getAttribute(NODE_REQUEST_ATTRIBUTE));
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new IllegalArgumentException("Clustering is disabled on this node");
+        }
+    }
+
+    private List<String> withSelf(List<String> nodes) {
+        Set<String> members = new LinkedHashSet<>();
+        nodes.stream().filter(node -> !node.isBlank()).map(ClusterService::normalize).forEach(members::add);
+        members.add(self);
+        return List.copyOf(members);
+    }
+
+    private static HttpServletRequest currentRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest();
+        }
+        return null;
+    }
+
+    private static String normalize(String node) {
+        String trimmed = node.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -26,8 +26,16 @@ public class JwtService {
     @Value("${jwt.expiration:86400000}")
     private Long expiration;
 
+    private volatile SecretKey signingKey;
+
+    // Derived once instead of on every sign and verify
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
     }
 
     public String generateToken(String username, String role) {
@@ -0,0 +1,85 @@
+package com.order.service;
+
+import com.order.dto.OrderEvent;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Fixed-size ring of the most recent order events.
+ *
+ * <p>Writes are serialized so there is exactly one writer at a time; readers
+ * never lock and each keeps its own cursor. A reader that falls more than
+ * {@code capacity} events behind simply loses the overwritten events instead
+ * of holding up the writer.
+ */
+public class OrderEventRingBuffer {
+
+    private final AtomicReferenceArray<OrderEvent> slots;
+    private final int mask;
+
+    // Sequence of the last published event; 0 means nothing published yet
+    private volatile long cursor;
+
+    public OrderEventRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public synchronized OrderEvent publish(OrderEvent event) {
+        long sequence = cursor + 1;
+        event.setSequence(sequence);
+        slots.set(index(sequence), event);
+        cursor = sequence;
+        return event;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * Oldest sequence that can still be read.
+     */
+    public long getOldestAvailable() {
+        return Math.max(1, cursor - slots.length() + 1);
+    }
+
+    /**
+     * Copies up to {@code max} events starting at {@code from} that match
+     * {@code filter} into {@code out}.
+     *
+     * @return the next sequence the caller should read from
+     */
+    public long read(long from, int max, Predicate<OrderEvent> filter, List<OrderEvent> out) {
+        long next = Math.max(from, getOldestAvailable());
+        long end = cursor;
+        int added = 0;
+        while (next <= end && added < max) {
+            OrderEvent event = slots.get(index(next));
+            if (event == null || event.getSequence() != next) {
+                // Overwritten while reading; restart from what is still there
+                next = getOldestAvailable();
+                continue;
+            }
+            if (filter.test(event)) {
+                out.add(event);
+                added++;
+            }
+            next++;
+        }
+        return next;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+}
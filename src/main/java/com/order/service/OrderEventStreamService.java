@@ -0,0 +1,202 @@
+package com.order.service;
+
+import com.order.dto.OrderEvent;
+import com.order.enums.OrderEventType;
+import com.order.model.Order;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes order events to a ring buffer and pushes them to SSE subscribers.
+ *
+ * <p>Publishing only writes the event to the ring and wakes the dispatcher;
+ * it never touches a subscriber. Each subscriber keeps its own cursor into
+ * the ring and is sent one batch at a time on the dispatcher pool, so a busy
+ * subscriber cannot keep a dispatcher thread from the others. A subscriber
+ * whose cursor falls behind the oldest event still in the ring is
+ * disconnected, and can reconnect with its last event id to resume.
+ */
+@Service
+public class OrderEventStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderEventStreamService.class);
+    private static final int BATCH_SIZE = 256;
+
+    private final OrderEventRingBuffer ringBuffer;
+    private final ExecutorService dispatcher;
+    private final long emitterTimeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // At most one pending task waking the subscribers, however many events are published meanwhile
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+
+    public OrderEventStreamService(
+            @Value("${order.events.buffer-size:8192}") int bufferSize,
+            @Value("${order.events.dispatcher-threads:4}") int dispatcherThreads,
+            @Value("${order.events.emitter-timeout:1800000}") long emitterTimeout) {
+        this.ringBuffer = new OrderEventRingBuffer(bufferSize);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "order-events-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.emitterTimeout = emitterTimeout;
+    }
+
+    public void publish(OrderEventType type, Order order) {
+        ringBuffer.publish(new OrderEvent(0, type, Instant.now(), order));
+        if (wakeupPending.compareAndSet(false, true)) {
+            dispatcher.execute(this::wakeSubscribers);
+        }
+    }
+
+    /**
+     * Opens a stream of events, optionally limited to one customer.
+     *
+     * @param lastEventId last sequence the client has seen, or {@code null} to
+     *                    receive only events published from now on
+     */
+    public SseEmitter subscribe(String customerId, Long lastEventId) {
+        SseEmitter emitter = createEmitter(emitterTimeout);
+        long cursor = ringBuffer.getCursor();
+        // A client ahead of the cursor was connected before a restart; start over from now
+        long from = lastEventId != null && lastEventId <= cursor ? lastEventId + 1 : cursor + 1;
+        Subscriber subscriber = new Subscriber(emitter, customerId, from);
+        subscribers.add(subscriber);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        logger.debug("Event subscriber added | CustomerId={} | From={}", customerId, from);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Sequence of the last published event, which is also the number of
+     * events published since startup.
+     */
+    public long getLastSequence() {
+        return ringBuffer.getCursor();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    // Overridden by tests to capture what is sent
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    private void wakeSubscribers() {
+        // Cleared first, so an event published from here on schedules another wake-up
+        wakeupPending.set(false);
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final String customerId;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final List<OrderEvent> batch = new ArrayList<>(BATCH_SIZE);
+        // Next sequence to read; only touched by the one dispatcher thread running this subscriber
+        private long next;
+        // Until the first batch, a gap is a resume point that was overwritten, not a slow client
+        private boolean resuming = true;
+
+        Subscriber(SseEmitter emitter, String customerId, long next) {
+            this.emitter = emitter;
+            this.customerId = customerId;
+            this.next = next;
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (!sendBatch()) {
+                    logger.info("Event subscriber disconnected, too far behind | CustomerId={} | BufferSize={}",
+                            customerId, ringBuffer.getCapacity());
+                    subscribers.remove(this);
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Event subscriber dropped | CustomerId={} | Reason={}", customerId, e.getMessage());
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return;
+            }
+            scheduled.set(false);
+            // More may be pending, or an event may have been published after the batch but before the flag was cleared
+            if (next <= ringBuffer.getCursor() && subscribers.contains(this)) {
+                schedule();
+            }
+        }
+
+        /**
+         * Sends at most one batch, then yields the dispatcher thread to other
+         * subscribers.
+         *
+         * @return false if events this subscriber had not read yet were overwritten
+         */
+        private boolean sendBatch() throws IOException {
+            long from = next;
+            long oldest = ringBuffer.getOldestAvailable();
+            if (from < oldest) {
+                if (!resuming) {
+                    return false;
+                }
+                emitter.send(SseEmitter.event().name("overflow").data(oldest - from));
+                from = oldest;
+            }
+            batch.clear();
+            next = ringBuffer.read(from, BATCH_SIZE, this::matches, batch);
+            // The writer may have lapped the ring while the batch was read
+            if (!resuming && ringBuffer.getOldestAvailable() > from) {
+                return false;
+            }
+            resuming = false;
+            for (OrderEvent event : batch) {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.getSequence()))
+                        .name(event.getType().name())
+                        .data(event));
+            }
+            return true;
+        }
+
+        private boolean matches(OrderEvent event) {
+            return customerId == null || customerId.equals(event.getOrder().getCustomerId());
+        }
+    }
+}
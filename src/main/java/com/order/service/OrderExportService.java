@@ -0,0 +1,131 @@
+package com.order.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.order.enums.OrderExportFormat;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import com.order.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Streams orders straight from the repository to an output stream.
+ *
+ * <p>Orders are written one at a time through fixed-size buffers, so memory
+ * use does not grow with the number of orders exported.
+ */
+@Service
+@Lazy
+public class OrderExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportService.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "orderId,customerId,product,amount,status\n";
+
+    private final OrderRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public OrderExportService(OrderRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes all orders matching the filters to {@code out}; {@code null}
+     * filters are ignored. {@code out} is flushed but not closed.
+     *
+     * @return the number of orders written
+     */
+    public long export(OrderExportFormat format, OrderStatus status, Double minAmount, Double maxAmount,
+                       OutputStream out) throws IOException {
+        Predicate<Order> filter = order -> (status == null || status == order.getStatus())
+                && (minAmount == null || order.getAmount() >= minAmount)
+                && (maxAmount == null || order.getAmount() <= maxAmount);
+
+        long count;
+        try (Stream<Order> orders = repository.streamAll().filter(filter)) {
+            count = format == OrderExportFormat.CSV
+                    ? writeCsv(orders.iterator(), out)
+                    : writeNdjson(orders.iterator(), out);
+        }
+        logger.info("Orders exported | Format={} | Count={}", format, count);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<Order> orders, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Order.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(StreamUtils.nonClosing(out))) {
+            while (orders.hasNext()) {
+                writer.writeValue(generator, orders.next());
+                count++;
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<Order> orders, OutputStream out) throws IOException {
+        long count = 0;
+        Writer encoder = new OutputStreamWriter(StreamUtils.nonClosing(out), StandardCharsets.UTF_8);
+        try (Writer writer = new BufferedWriter(encoder, BUFFER_SIZE)) {
+            writer.write(CSV_HEADER);
+            while (orders.hasNext()) {
+                Order order = orders.next();
+                writeCsvField(writer, order.getOrderId());
+                writer.write(',');
+                writeCsvField(writer, order.getCustomerId());
+                writer.write(',');
+                writeCsvField(writer, order.getProduct());
+                writer.write(',');
+                writeCsvAmount(writer, order.getAmount());
+                writer.write(',');
+                writeCsvField(writer, order.getStatus() == null ? null : order.getStatus().name());
+                writer.write('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Plain notation, so spreadsheets read 10000000 rather than the 1.0E7 of Double.toString
+    private static void writeCsvAmount(Writer writer, double amount) throws IOException {
+        writer.write(Double.isFinite(amount) ? BigDecimal.valueOf(amount).toPlainString() : Double.toString(amount));
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,327 @@
+package com.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.apachecamel.OrderFileSplitter;
+import com.order.apachecamel.OrderReplayRoute;
+import com.order.apachecamel.OrderValidator;
+import com.order.dto.ReplayStatusResponse;
+import com.order.enums.ReplayState;
+import com.order.exception.ReplayInProgressException;
+import com.order.model.Order;
+import jakarta.annotation.PreDestroy;
+import org.apache.camel.ProducerTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Replays dead-lettered order files from the error folder.
+ *
+ * <p>Files are read on a pool of their own, separate from the file poller,
+ * and every record is revalidated and republished to the order queue at no
+ * more than {@code order.replay.max-per-second} records per second, so a
+ * replay cannot crowd out live ingestion. A file whose records were all
+ * republished is moved to {@code replayed/} under the error folder; a file
+ * with records that still fail is replaced by a copy holding only those
+ * records, written as the file is read. When
+ * a file cannot be finished, for example because the broker is down, the
+ * number of records already handled is saved next to it, and the next replay
+ * resumes after them instead of sending them again.
+ */
+@Service
+@Lazy
+public class OrderReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderReplayService.class);
+    private static final String REPLAYED_DIR = "replayed";
+    private static final String OFFSET_SUFFIX = ".offset";
+    private static final String REMAINING_SUFFIX = ".remaining";
+
+    private final OrderFileSplitter splitter;
+    private final ObjectMapper objectMapper;
+    private final ProducerTemplate producerTemplate;
+    private final Path errorDir;
+    private final ExecutorService workers;
+    private final long permitIntervalNanos;
+
+    private final AtomicLong nextPermit = new AtomicLong();
+    private final AtomicInteger totalFiles = new AtomicInteger();
+    private final AtomicInteger processedFiles = new AtomicInteger();
+    private final AtomicLong republished = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private volatile ReplayState state = ReplayState.IDLE;
+    private volatile boolean cancelled;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public OrderReplayService(
+            OrderFileSplitter splitter,
+            ObjectMapper objectMapper,
+            ProducerTemplate producerTemplate,
+            @Value("${order.file.error.path:error/orders}") String errorPath,
+            @Value("${order.replay.threads:4}") int threads,
+            @Value("${order.replay.max-per-second:500}") int maxPerSecond) {
+        this.splitter = splitter;
+        this.objectMapper = objectMapper;
+        this.producerTemplate = producerTemplate;
+        this.errorDir = Paths.get(errorPath);
+        // One extra thread coordinates the replay
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads + 1, runnable -> {
+            Thread thread = new Thread(runnable, "order-replay-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.permitIntervalNanos = maxPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxPerSecond : 0;
+    }
+
+    /**
+     * Starts replaying the files currently in the error folder; files that
+     * arrive later are left for the next replay.
+     *
+     * @throws ReplayInProgressException if a replay is already running
+     */
+    public synchronized ReplayStatusResponse start() throws IOException {
+        if (state == ReplayState.RUNNING) {
+            throw new ReplayInProgressException();
+        }
+        List<Path> files = listErrorFiles();
+        totalFiles.set(files.size());
+        processedFiles.set(0);
+        republished.set(0);
+        invalid.set(0);
+        cancelled = false;
+        startedAt = Instant.now();
+        finishedAt = null;
+        state = ReplayState.RUNNING;
+
+        logger.info("Replay started | Files={} | ErrorDir={}", files.size(), errorDir);
+        workers.execute(() -> run(files));
+        return getStatus();
+    }
+
+    public ReplayStatusResponse cancel() {
+        if (state == ReplayState.RUNNING) {
+            cancelled = true;
+            logger.info("Replay cancellation requested");
+        }
+        return getStatus();
+    }
+
+    public ReplayStatusResponse getStatus() {
+        return new ReplayStatusResponse(state, totalFiles.get(), processedFiles.get(), republished.get(),
+                invalid.get(), startedAt, finishedAt);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cancelled = true;
+        workers.shutdownNow();
+    }
+
+    private void run(List<Path> files) {
+        List<Future<?>> tasks = new ArrayList<>(files.size());
+        for (Path file : files) {
+            tasks.add(workers.submit(() -> {
+                if (!cancelled) {
+                    replayFile(file);
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+                break;
+            } catch (Exception e) {
+                logger.error("Replay task failed", e);
+            }
+        }
+        finishedAt = Instant.now();
+        state = cancelled ? ReplayState.CANCELLED : ReplayState.COMPLETED;
+        logger.info("Replay finished | State={} | Files={} | Republished={} | Invalid={}",
+                state, processedFiles.get(), republished.get(), invalid.get());
+    }
+
+    private void replayFile(Path file) {
+        Path offsetFile = file.resolveSibling("." + file.getFileName() + OFFSET_SUFFIX);
+        // Still-invalid records are streamed here and swapped in, never collected in memory
+        Path remaining = file.resolveSibling("." + file.getFileName() + REMAINING_SUFFIX);
+        long resumeAfter = readOffset(file, offsetFile);
+        long handled = 0;
+        long kept = 0;
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(remaining))) {
+                Iterator<Object> records = splitter.split(file.toFile(), file.getFileName().toString());
+                try {
+                    while (records.hasNext()) {
+                        boolean alreadySent = handled < resumeAfter;
+                        if (!replayRecord(records.next(), alreadySent, out)) {
+                            kept++;
+                        }
+                        handled++;
+                    }
+                } finally {
+                    if (records instanceof Closeable closeable) {
+                        closeable.close();
+                    }
+                }
+            }
+
+            if (kept == 0) {
+                Files.delete(remaining);
+                Path replayedDir = Files.createDirectories(errorDir.resolve(REPLAYED_DIR));
+                Files.move(file, replayedDir.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            } else if (kept == handled) {
+                // Nothing was republished, so the file already holds exactly what still fails
+                Files.delete(remaining);
+            } else {
+                // Keep only what still fails, so a later replay does not republish records twice
+                Files.move(remaining, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.deleteIfExists(offsetFile);
+        } catch (IOException | RuntimeException e) {
+            // The file stays where it is; remember how far it got so sent records are not sent again
+            logger.warn("Replay failed for file {} after {} records: {}", file.getFileName(), handled,
+                    e.getMessage());
+            saveOffset(file, offsetFile, Math.max(handled, resumeAfter));
+            deleteQuietly(remaining);
+        } finally {
+            processedFiles.incrementAndGet();
+        }
+    }
+
+    /**
+     * Sends one record unless {@code alreadySent}, or copies it to
+     * {@code stillInvalid} if it is not a valid order. Records skipped on
+     * resume were counted by the replay that handled them.
+     *
+     * @return whether the record is valid
+     */
+    private boolean replayRecord(Object record, boolean alreadySent, OutputStream stillInvalid) throws IOException {
+        if (record instanceof OrderFileSplitter.Tail tail) {
+            try (InputStream in = tail.open()) {
+                in.transferTo(stillInvalid);
+            }
+            stillInvalid.write('\n');
+            countInvalid(alreadySent);
+            return false;
+        }
+        String json = (String) record;
+        Order order;
+        try {
+            order = objectMapper.readValue(json, Order.class);
+            OrderValidator.validate(order);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            stillInvalid.write((json + "\n").getBytes(StandardCharsets.UTF_8));
+            countInvalid(alreadySent);
+            return false;
+        }
+        if (alreadySent) {
+            return true;
+        }
+        acquirePermit();
+        producerTemplate.sendBody(OrderReplayRoute.ENDPOINT, order);
+        republished.incrementAndGet();
+        return true;
+    }
+
+    private void countInvalid(boolean alreadySent) {
+        if (!alreadySent) {
+            invalid.incrementAndGet();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}: {}", file.getFileName(), e.getMessage());
+        }
+    }
+
+    // The offset is stored with the file's modification time and ignored once the file has changed
+    private long readOffset(Path file, Path offsetFile) {
+        try {
+            if (!Files.exists(offsetFile)) {
+                return 0;
+            }
+            String[] saved = Files.readString(offsetFile, StandardCharsets.UTF_8).trim().split(" ");
+            if (saved.length == 2 && Long.parseLong(saved[1]) == Files.getLastModifiedTime(file).toMillis()) {
+                return Long.parseLong(saved[0]);
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Ignoring unreadable replay offset {}: {}", offsetFile.getFileName(), e.getMessage());
+        }
+        return 0;
+    }
+
+    private void saveOffset(Path file, Path offsetFile, long handled) {
+        if (handled == 0) {
+            return;
+        }
+        try {
+            Files.writeString(offsetFile, handled + " " + Files.getLastModifiedTime(file).toMillis(),
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.error("Could not save replay offset for file {}; its first {} records may be sent again",
+                    file.getFileName(), handled, e);
+        }
+    }
+
+    // Spaces sends permitIntervalNanos apart across all workers
+    private void acquirePermit() throws IOException {
+        if (permitIntervalNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long previous = nextPermit.getAndAccumulate(now, (next, time) -> Math.max(next, time) + permitIntervalNanos);
+        long wait = Math.max(previous, now) - now;
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Replay interrupted", e);
+            }
+        }
+    }
+
+    private List<Path> listErrorFiles() throws IOException {
+        if (!Files.isDirectory(errorDir)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(errorDir)) {
+            return entries.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().startsWith("."))
+                    .toList();
+        }
+    }
+}
@@ -1,58 +1,126 @@
 package com.order.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.config.LogMarkers;
 import com.order.dto.CreateOrderRequest;
+import com.order.dto.OrderPageResponse;
+import com.order.enums.OrderEventType;
 import com.order.enums.OrderStatus;
 import com.order.exception.OrderNotFoundException;
 import com.order.model.Order;
 import com.order.repository.OrderRepository;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final long MAX_COUNTED = 10_000;
 
     private final OrderRepository repository;
     private final ObjectMapper objectMapper;
+    private final OrderEventStreamService eventStream;
+    private final ClusterService cluster;
+    // Bounded pools for createOrderAsync: persistence rejects when full, publishing falls back to the caller
+    private final ExecutorService persistenceExecutor;
+    private final ExecutorService publishExecutor;
+    private final long asyncTimeout;
+    private final boolean fsync;
 
-    public OrderService(OrderRepository repository, ObjectMapper objectMapper) {
+    public OrderService(
+            OrderRepository repository,
+            ObjectMapper objectMapper,
+            OrderEventStreamService eventStream,
+            ClusterService cluster,
+            @Value("${order.async.persistence-threads:16}") int persistenceThreads,
+            @Value("${order.async.persistence-queue:1000}") int persistenceQueue,
+            @Value("${order.async.publish-threads:2}") int publishThreads,
+            @Value("${order.async.publish-queue:10000}") int publishQueue,
+            @Value("${order.async.timeout:5000}") long asyncTimeout,
+            @Value("${order.file.fsync:false}") boolean fsync) {
         this.repository = repository;
         this.objectMapper = objectMapper;
+        this.eventStream = eventStream;
+        this.cluster = cluster;
+        this.persistenceExecutor = boundedExecutor("order-persist-", persistenceThreads, persistenceQueue,
+                new ThreadPoolExecutor.AbortPolicy());
+        this.publishExecutor = boundedExecutor("order-publish-", publishThreads, publishQueue,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.asyncTimeout = asyncTimeout;
+        this.fsync = fsync;
     }
 
     public Order createOrder(CreateOrderRequest request) {
-        logger.debug("Creating order for customer: {}", request.getCustomerId());
-        
-        Order order = new Order(
-            UUID.randomUUID().toString(),
-            request.getCustomerId(),
-            request.getProduct(),
-            request.getAmount(),
-            OrderStatus.CREATED
-        );
-
-        repository.save(order);
-        logger.info("Order created successfully | OrderId={} | CustomerId={} | Amount={}", 
-                order.getOrderId(), order.getCustomerId(), order.getAmount());
+        long membershipVersion = cluster.membershipVersion();
+        if (!cluster.isLocal(request.getCustomerId())) {
+            return cluster.forwardCreate(request);
+        }
+        Order order = persist(newOrder(request));
+        cluster.handOffIfMoved(order, membershipVersion);
+        eventStream.publish(OrderEventType.CREATED, order);
+        return order;
+    }
 
-        // BONUS: write file
-        writeOrderToFile(order);
+    /**
+     * Creates an order without holding the request thread. The future
+     * completes once the order is saved and its file written, which is when
+     * the order is durably accepted; the CREATED event is published
+     * afterwards on a separate pool.
+     *
+     * <p>Throws {@link RejectedExecutionException} straight away when the
+     * persistence queue is full, and the future fails with a
+     * {@link java.util.concurrent.TimeoutException} after
+     * {@code order.async.timeout}. A timed-out order may still be created.
+     */
+    public CompletableFuture<Order> createOrderAsync(CreateOrderRequest request) {
+        long membershipVersion = cluster.membershipVersion();
+        if (!cluster.isLocal(request.getCustomerId())) {
+            // Forwarding passes on the caller's headers, so it stays on the request thread
+            return CompletableFuture.completedFuture(cluster.forwardCreate(request));
+        }
+        Order order = newOrder(request);
+        return CompletableFuture.supplyAsync(() -> persist(order), persistenceExecutor)
+                .thenApply(saved -> {
+                    cluster.handOffIfMoved(saved, membershipVersion);
+                    publishExecutor.execute(() -> eventStream.publish(OrderEventType.CREATED, saved));
+                    return saved;
+                })
+                .orTimeout(asyncTimeout, TimeUnit.MILLISECONDS);
+    }
 
-        return order;
+    @PreDestroy
+    public void shutdown() {
+        persistenceExecutor.shutdown();
+        publishExecutor.shutdown();
     }
 
     public Order getOrder(String orderId) {
         logger.debug("Fetching order with id: {}", orderId);
         return repository.findById(orderId)
+                .or(() -> cluster.findOnPeers(orderId))
                 .orElseThrow(() -> {
                     logger.warn("Order not found with id: {}", orderId);
                     return new OrderNotFoundException(orderId);
@@ -60,19 +128,123 @@ public class OrderService {
     }
 
     public List<Order> getOrdersByCustomer(String customerId) {
+        if (!cluster.isLocal(customerId)) {
+            return cluster.forwardGetOrdersByCustomer(customerId);
+        }
         logger.debug("Fetching orders for customer: {}", customerId);
         List<Order> orders = repository.findByCustomerId(customerId);
         logger.info("Found {} orders for customer: {}", orders.size(), customerId);
         return orders;
     }
 
+    public OrderPageResponse searchOrdersByProduct(String query, boolean prefix, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        validatePage(page, size);
+        logger.debug("Searching orders by product | Query={} | Prefix={}", query, prefix);
+
+        return page(() -> repository.findIdsByProduct(query, prefix), page, size);
+    }
+
+    /**
+     * Orders matching every given filter, {@code null} filters being
+     * ignored, sorted by amount. Only covers the orders stored on this node.
+     */
+    public OrderPageResponse filterOrders(String customerId, OrderStatus status, Double minAmount, Double maxAmount,
+                                          int page, int size) {
+        if (minAmount != null && maxAmount != null && minAmount > maxAmount) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+        if ((minAmount != null && minAmount.isNaN()) || (maxAmount != null && maxAmount.isNaN())) {
+            throw new IllegalArgumentException("Amount bounds must be numbers");
+        }
+        validatePage(page, size);
+        logger.debug("Filtering orders | CustomerId={} | Status={} | MinAmount={} | MaxAmount={}",
+                customerId, status, minAmount, maxAmount);
+
+        if (customerId == null && minAmount == null && maxAmount == null) {
+            return page(repository.findIdsByFilter(null, status, null, null), page, size,
+                    repository.countByStatus(status), true);
+        }
+        return page(() -> repository.findIdsByFilter(customerId, status, minAmount, maxAmount), page, size);
+    }
+
+    // A query can match most orders, so counting stops at a cap instead of walking them all
+    private OrderPageResponse page(Supplier<Stream<String>> ids, int page, int size) {
+        long counted = ids.get().limit(MAX_COUNTED + 1).count();
+        return page(ids.get(), page, size, Math.min(counted, MAX_COUNTED), counted <= MAX_COUNTED);
+    }
+
+    // Reads only the ids up to the end of the requested page
+    private OrderPageResponse page(Stream<String> ids, int page, int size, long total, boolean totalExact) {
+        List<Order> content = new ArrayList<>(size);
+        ids.skip((long) page * size)
+                .limit(size)
+                .forEach(id -> repository.findById(id).ifPresent(content::add));
+        return new OrderPageResponse(content, page, size, total, totalExact);
+    }
+
+    private static void validatePage(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private Order newOrder(CreateOrderRequest request) {
+        logger.debug("Creating order for customer: {}", request.getCustomerId());
+        return new Order(
+            UUID.randomUUID().toString(),
+            request.getCustomerId(),
+            request.getProduct(),
+            request.getAmount(),
+            OrderStatus.CREATED
+        );
+    }
+
+    private Order persist(Order order) {
+        repository.save(order);
+        logger.atInfo()
+                .addMarker(LogMarkers.HOT_PATH)
+                .addKeyValue("orderId", order.getOrderId())
+                .addKeyValue("customerId", order.getCustomerId())
+                .addKeyValue("amount", order.getAmount())
+                .log("Order created");
+
+        // BONUS: write file
+        writeOrderToFile(order);
+        return order;
+    }
+
+    private static ExecutorService boundedExecutor(String namePrefix, int threads, int queueCapacity,
+                                                   RejectedExecutionHandler rejectionHandler) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                rejectionHandler);
+    }
+
     private void writeOrderToFile(Order order) {
         try {
             Path dir = Paths.get("input/orders");
             Files.createDirectories(dir);
 
             Path file = dir.resolve("order-" + order.getOrderId() + ".json");
-            objectMapper.writeValue(file.toFile(), order);
+            if (fsync) {
+                // DSYNC returns only once the data is on disk
+                Files.write(file, objectMapper.writeValueAsBytes(order), StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.DSYNC);
+            } else {
+                objectMapper.writeValue(file.toFile(), order);
+            }
             logger.debug("Order file written successfully: {}", file);
         } catch (Exception e) {
             logger.error("Failed to write order file for orderId: {}", order.getOrderId(), e);
@@ -0,0 +1,65 @@
+package com.order;
+
+/**
+ * Minimal timing harness for the {@code benchmark}-tagged tests.
+ *
+ * <p>Run them with {@code mvn test -Pbenchmark}; they are excluded from the
+ * default build. Numbers are indicative only: there is no fork isolation, so
+ * compare baseline and candidate from the same run.
+ */
+public final class BenchmarkSupport {
+
+	private static final long WARMUP_NANOS = 500_000_000L;
+	private static final long MEASURE_NANOS = 1_000_000_000L;
+	private static final int ROUNDS = 3;
+
+	@FunctionalInterface
+	public interface Operation {
+		void run() throws Exception;
+	}
+
+	private BenchmarkSupport() {
+	}
+
+	/**
+	 * Runs {@code operation} repeatedly and returns operations per second.
+	 */
+	public static double opsPerSecond(Operation operation) throws Exception {
+		runFor(operation, WARMUP_NANOS);
+		long start = System.nanoTime();
+		long count = runFor(operation, MEASURE_NANOS);
+		return count * 1_000_000_000.0 / (System.nanoTime() - start);
+	}
+
+	/**
+	 * Runs both operations in alternating rounds and prints the best
+	 * throughput of each side by side, so neither side benefits from running
+	 * last.
+	 */
+	public static void compare(String name, Operation baseline, Operation candidate) throws Exception {
+		double before = 0;
+		double after = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			before = Math.max(before, opsPerSecond(baseline));
+			after = Math.max(after, opsPerSecond(candidate));
+		}
+		report(name, before, after);
+	}
+
+	public static void report(String name, double before, double after) {
+		System.out.printf("%-40s baseline %,14.0f ops/s   optimized %,14.0f ops/s   x%.2f%n",
+				name, before, after, after / before);
+	}
+
+	private static long runFor(Operation operation, long nanos) throws Exception {
+		long deadline = System.nanoTime() + nanos;
+		long count = 0;
+		while (System.nanoTime() < deadline) {
+			for (int i = 0; i < 100; i++) {
+				operation.run();
+			}
+			count += 100;
+		}
+		return count;
+	}
+}
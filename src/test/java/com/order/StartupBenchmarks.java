@@ -0,0 +1,125 @@
+package com.order;
+
+import com.order.service.JwtService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Time from launching a JVM to the first successful {@code POST /api/orders},
+ * for the plain jar and for the artifact built by
+ * {@code mvn -Pfast-startup package} (Spring AOT plus an AppCDS archive).
+ *
+ * <p>Needs both artifacts, so run it after packaging:
+ * {@code mvn -Pfast-startup package -DskipTests && mvn test -Pbenchmark -Dtest=StartupBenchmarks}.
+ * Every launch gets a fresh working directory and port, and the two variants
+ * alternate so that neither benefits from a warmer page cache.
+ */
+@Tag("benchmark")
+class StartupBenchmarks {
+
+	private static final int ROUNDS = 3;
+	private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+	private static final String JAR = "order-0.0.1-SNAPSHOT.jar";
+	private static final String SECRET = "startupBenchmarkSecret123456789012345678901234567890";
+	private static final String BODY = "{\"customerId\":\"CUST001\",\"product\":\"Laptop\",\"amount\":15000.0}";
+
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+	@Test
+	void timeToFirstOrder() throws Exception {
+		Path buildDirectory = Paths.get(System.getProperty("buildDirectory", "..")).toAbsolutePath();
+		Path plainJar = buildDirectory.resolve(JAR);
+		Path fastStartup = buildDirectory.resolve("fast-startup");
+		assumeTrue(Files.exists(plainJar) && Files.exists(fastStartup.resolve("application.jsa")),
+				"Run mvn -Pfast-startup package first");
+
+		List<String> plain = List.of("-jar", plainJar.toString());
+		List<String> optimized = List.of("-XX:SharedArchiveFile=" + fastStartup.resolve("application.jsa"),
+				"-Dspring.aot.enabled=true", "-jar", fastStartup.resolve(JAR).toString());
+
+		long[] before = new long[ROUNDS];
+		long[] after = new long[ROUNDS];
+		for (int round = 0; round < ROUNDS; round++) {
+			before[round] = millisToFirstOrder(plain);
+			after[round] = millisToFirstOrder(optimized);
+		}
+		Arrays.sort(before);
+		Arrays.sort(after);
+		System.out.printf("%-40s baseline %,10d ms   optimized %,10d ms   x%.2f%n", "Time to first order (median)",
+				before[ROUNDS / 2], after[ROUNDS / 2], (double) before[ROUNDS / 2] / after[ROUNDS / 2]);
+	}
+
+	private long millisToFirstOrder(List<String> launch) throws Exception {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		Path workDir = Files.createTempDirectory("startup-benchmark");
+		List<String> command = new ArrayList<>();
+		command.add(ProcessHandle.current().info().command().orElse("java"));
+		command.addAll(launch);
+		command.add("--server.port=" + port);
+		command.add("--jwt.secret=" + SECRET);
+		command.add("--spring.jmx.enabled=false");
+
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders"))
+				.header("Authorization", "Bearer " + token())
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(BODY))
+				.build();
+
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command)
+				.directory(workDir.toFile())
+				.redirectErrorStream(true)
+				.redirectOutput(workDir.resolve("app.log").toFile())
+				.start();
+		try {
+			long deadline = start + STARTUP_TIMEOUT.toNanos();
+			while (System.nanoTime() < deadline) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException("Application exited, see " + workDir.resolve("app.log"));
+				}
+				try {
+					if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 201) {
+						return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+					}
+				} catch (IOException e) {
+					// Not listening yet
+				}
+				Thread.sleep(50);
+			}
+			throw new IllegalStateException("No order created within " + STARTUP_TIMEOUT);
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly().waitFor();
+			}
+		}
+	}
+
+	private static String token() {
+		JwtService jwtService = new JwtService();
+		ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+		ReflectionTestUtils.setField(jwtService, "expiration", 3_600_000L);
+		return jwtService.generateToken("startup", "USER");
+	}
+}
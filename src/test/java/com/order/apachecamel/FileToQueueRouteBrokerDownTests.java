@@ -0,0 +1,91 @@
+package com.order.apachecamel;
+
+import com.order.OrderApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the file route against a broker URL nothing listens on, so every
+ * send fails, and checks that each record is dead-lettered on its own.
+ */
+class FileToQueueRouteBrokerDownTests {
+
+	private static final Path INPUT = Paths.get("input/orders");
+	private static final Path ERROR = Paths.get("error/orders");
+
+	private static ConfigurableApplicationContext app;
+
+	@BeforeAll
+	static void start() throws Exception {
+		Files.createDirectories(INPUT);
+		try (Stream<Path> leftovers = Files.list(INPUT)) {
+			for (Path file : leftovers.filter(Files::isRegularFile).toList()) {
+				Files.delete(file);
+			}
+		}
+		app = new SpringApplicationBuilder(OrderApplication.class)
+				.run("--server.port=0",
+						"--spring.activemq.broker-url=tcp://localhost:" + freePort(),
+						"--spring.jmx.enabled=false");
+	}
+
+	@AfterAll
+	static void stop() {
+		app.close();
+	}
+
+	@Test
+	void failedSendsDeadLetterEveryRecordUnderItsOwnName() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			Files.deleteIfExists(ERROR.resolve("broker-down-" + i + ".json"));
+		}
+		Files.deleteIfExists(ERROR.resolve("broker-down.ndjson"));
+
+		drop("broker-down.ndjson", order("DOWN-1") + "\n" + order("DOWN-2") + "\n" + order("DOWN-3") + "\n");
+
+		waitFor(() -> Files.exists(ERROR.resolve("broker-down-2.json")));
+		assertThat(Files.readString(ERROR.resolve("broker-down-0.json"))).isEqualTo(order("DOWN-1"));
+		assertThat(Files.readString(ERROR.resolve("broker-down-1.json"))).isEqualTo(order("DOWN-2"));
+		assertThat(Files.readString(ERROR.resolve("broker-down-2.json"))).isEqualTo(order("DOWN-3"));
+		assertThat(ERROR.resolve("broker-down.ndjson")).doesNotExist();
+	}
+
+	private static String order(String orderId) {
+		return "{\"orderId\":\"" + orderId + "\",\"customerId\":\"CUST1\",\"product\":\"Laptop\",\"amount\":100.0,"
+				+ "\"status\":\"CREATED\"}";
+	}
+
+	// Writes the file elsewhere and moves it in, so the poller never sees it half-written
+	private static void drop(String fileName, String content) throws Exception {
+		Path file = Files.writeString(Files.createTempFile("order", ".ndjson"), content);
+		Files.move(file, INPUT.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 30_000;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertThat(condition.getAsBoolean()).as("condition met within 30s").isTrue();
+	}
+}
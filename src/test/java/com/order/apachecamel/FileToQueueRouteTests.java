@@ -0,0 +1,110 @@
+package com.order.apachecamel;
+
+import com.order.OrderApplication;
+import com.order.service.OrderEventStreamService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the file route against an embedded broker and checks what reaches
+ * the queue consumer and what is dead-lettered.
+ */
+class FileToQueueRouteTests {
+
+	private static final Path INPUT = Paths.get("input/orders");
+	private static final Path ERROR = Paths.get("error/orders");
+
+	private static ConfigurableApplicationContext app;
+	private static OrderEventStreamService events;
+
+	@BeforeAll
+	static void start() throws Exception {
+		Files.createDirectories(INPUT);
+		// Files left by earlier runs would be picked up too and add events
+		try (Stream<Path> leftovers = Files.list(INPUT)) {
+			for (Path file : leftovers.filter(Files::isRegularFile).toList()) {
+				Files.delete(file);
+			}
+		}
+		app = new SpringApplicationBuilder(OrderApplication.class)
+				.run("--server.port=0",
+						"--order.broker.embedded.enabled=true",
+						"--order.broker.embedded.name=file-route-test",
+						"--spring.jmx.enabled=false");
+		events = app.getBean(OrderEventStreamService.class);
+	}
+
+	@AfterAll
+	static void stop() {
+		app.close();
+	}
+
+	@Test
+	void brokenSuffixDeadLettersOnlyTheUnsentTail() throws Exception {
+		Files.deleteIfExists(ERROR.resolve("broken-suffix.json"));
+		Files.deleteIfExists(ERROR.resolve("broken-suffix-2.json"));
+		String tail = "{\"orderId\":\"BROKEN-3\",\"customerId\":\"CUST1\",\"amount\": }]";
+		long before = events.getLastSequence();
+
+		drop("broken-suffix.json", "[" + order("BROKEN-1") + ",\n" + order("BROKEN-2") + ",\n" + tail);
+
+		waitFor(() -> events.getLastSequence() >= before + 2 && Files.exists(ERROR.resolve("broken-suffix-2.json")));
+		assertThat(Files.readString(ERROR.resolve("broken-suffix-2.json"))).isEqualTo(tail);
+		assertThat(ERROR.resolve("broken-suffix.json")).doesNotExist();
+		assertThat(events.getLastSequence()).isEqualTo(before + 2);
+	}
+
+	@Test
+	void largeBrokenTailIsCopiedToTheErrorFolderUnchanged() throws Exception {
+		Files.deleteIfExists(ERROR.resolve("large-tail-1.json"));
+		// Several megabytes after the syntax error, so the tail spans many read buffers
+		String tail = "{\"orderId\":\"LARGE-2\",\"amount\": }" + " \"padding\"".repeat(500_000);
+		long before = events.getLastSequence();
+
+		drop("large-tail.json", order("LARGE-1") + "\n" + tail);
+
+		waitFor(() -> events.getLastSequence() >= before + 1 && Files.exists(ERROR.resolve("large-tail-1.json")));
+		waitFor(() -> sizeOf(ERROR.resolve("large-tail-1.json")) == tail.length());
+		assertThat(Files.readString(ERROR.resolve("large-tail-1.json"))).isEqualTo(tail);
+	}
+
+	private static long sizeOf(Path file) {
+		try {
+			return Files.size(file);
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+
+	private static String order(String orderId) {
+		return "{\"orderId\":\"" + orderId + "\",\"customerId\":\"CUST1\",\"product\":\"Laptop\",\"amount\":100.0,"
+				+ "\"status\":\"CREATED\"}";
+	}
+
+	// Writes the file elsewhere and moves it in, so the poller never sees it half-written
+	private static void drop(String fileName, String content) throws Exception {
+		Path file = Files.writeString(Files.createTempFile("order", ".json"), content);
+		Files.move(file, INPUT.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 30_000;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertThat(condition.getAsBoolean()).as("condition met within 30s").isTrue();
+	}
+}
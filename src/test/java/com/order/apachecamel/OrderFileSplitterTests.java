@@ -0,0 +1,103 @@
+package com.order.apachecamel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderFileSplitterTests {
+
+	private final OrderFileSplitter splitter = new OrderFileSplitter();
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void splitsSingleOrderFile() throws Exception {
+		List<String> records = split("order-1.json", "{\"orderId\":\"1\",\n  \"amount\": 10.0}");
+
+		assertThat(records).containsExactly("{\"orderId\":\"1\",\"amount\":10.0}");
+	}
+
+	@Test
+	void splitsJsonArray() throws Exception {
+		List<String> records = split("orders.json", "[{\"orderId\":\"1\"},\n{\"orderId\":\"2\",\"tags\":[1,2]}]");
+
+		assertThat(records).containsExactly("{\"orderId\":\"1\"}", "{\"orderId\":\"2\",\"tags\":[1,2]}");
+	}
+
+	@Test
+	void splitsNdjsonAndKeepsMalformedLinesSeparate() throws Exception {
+		List<String> records = split("orders.ndjson", "{\"orderId\":\"1\"}\n\nnot json\n{\"orderId\":\"2\"}\n");
+
+		assertThat(records).containsExactly("{\"orderId\":\"1\"}", "not json", "{\"orderId\":\"2\"}");
+	}
+
+	@Test
+	void yieldsRecordsBeforeSyntaxErrorThenUnreadTail() throws Exception {
+		List<String> records = split("orders.json",
+				"[{\"orderId\":\"1\"},\n {\"orderId\":\"2\"},\n {\"orderId\":\"3\", \"amount\": }]");
+
+		assertThat(records).containsExactly("{\"orderId\":\"1\"}", "{\"orderId\":\"2\"}",
+				"{\"orderId\":\"3\", \"amount\": }]");
+	}
+
+	@Test
+	void tailOfConcatenatedStreamStartsAfterLastGoodRecord() throws Exception {
+		List<String> records = split("orders.json", "{\"orderId\":\"1\"} garbage {\"orderId\":\"2\"}");
+
+		assertThat(records).containsExactly("{\"orderId\":\"1\"}", "garbage {\"orderId\":\"2\"}");
+	}
+
+	@Test
+	void exhaustedNdjsonIteratorStaysExhaustedAfterClose() throws Exception {
+		File file = Files.writeString(dir.resolve("orders.ndjson"), "{\"orderId\":\"1\"}\n").toFile();
+		Iterator<Object> it = splitter.split(file, "orders.ndjson");
+		it.forEachRemaining(record -> { });
+		((AutoCloseable) it).close();
+
+		assertThat(it.hasNext()).isFalse();
+	}
+
+	@Test
+	void tailStartsAtByteOffsetAfterMultiByteRecords() throws Exception {
+		List<String> records = split("orders.json", "[{\"product\":\"Café\"},\n {\"product\":\"Crème\" oops]");
+
+		assertThat(records).containsExactly("{\"product\":\"Café\"}", "{\"product\":\"Crème\" oops]");
+	}
+
+	@Test
+	void separatorsAfterLastRecordAreNotATail() throws Exception {
+		List<String> records = split("orders.json", "{\"orderId\":\"1\"},\n ,\n");
+
+		assertThat(records).containsExactly("{\"orderId\":\"1\"}");
+	}
+
+	// Tails are read back here only to compare them; the route streams them to the error folder
+	private List<String> split(String fileName, String content) throws Exception {
+		File file = Files.writeString(dir.resolve(fileName), content).toFile();
+		List<String> records = new ArrayList<>();
+		Iterator<Object> it = splitter.split(file, fileName);
+		while (it.hasNext()) {
+			Object record = it.next();
+			if (record instanceof OrderFileSplitter.Tail tail) {
+				try (InputStream in = tail.open()) {
+					records.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+				}
+			} else {
+				records.add((String) record);
+			}
+		}
+		((AutoCloseable) it).close();
+		return records;
+	}
+}
@@ -0,0 +1,105 @@
+package com.order.apachecamel;
+
+import com.order.BenchmarkSupport;
+import com.order.OrderApplication;
+import com.order.service.OrderEventStreamService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Orders per second through the whole ingestion pipeline, entirely in this
+ * JVM: an NDJSON file dropped into {@code input/orders} is split, validated
+ * and sent to the embedded broker, and the run ends when the queue consumer
+ * has processed every order. Every round starts a fresh application and
+ * broker and sends a warm-up file through first.
+ */
+@Tag("benchmark")
+class OrderPipelineBenchmarks {
+
+	private static final int WARMUP_ORDERS = 2_000;
+	private static final int ORDERS = 20_000;
+	private static final int ROUNDS = 3;
+	private static final long TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(5);
+	private static final Path INPUT = Paths.get("input/orders");
+	private static final AtomicInteger BROKERS = new AtomicInteger();
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void connectionFactories() throws Exception {
+		compare("Pipeline, pooled-jms vs caching factory",
+				"--spring.activemq.pool.enabled=false", "--spring.activemq.pool.enabled=true");
+	}
+
+	@Test
+	void persistence() throws Exception {
+		compare("Pipeline, KahaDB vs in-memory broker",
+				"--order.broker.embedded.persistent=false", "--order.broker.embedded.persistent=true");
+	}
+
+	// Alternates the two configurations and keeps the best round of each, as BenchmarkSupport.compare does
+	private void compare(String name, String baseline, String candidate) throws Exception {
+		double before = 0;
+		double after = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			before = Math.max(before, ordersPerSecond(baseline));
+			after = Math.max(after, ordersPerSecond(candidate));
+		}
+		BenchmarkSupport.report(name, before, after);
+	}
+
+	private double ordersPerSecond(String config) throws Exception {
+		List<String> arguments = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--order.broker.embedded.enabled=true",
+				"--order.broker.embedded.name=benchmark-" + BROKERS.incrementAndGet(),
+				"--order.broker.embedded.data-directory=" + dataDir.resolve("broker-" + BROKERS.get()),
+				"--spring.jmx.enabled=false",
+				"--logging.level.root=WARN"));
+		arguments.add(config);
+
+		Files.createDirectories(INPUT);
+		try (ConfigurableApplicationContext app = new SpringApplicationBuilder(OrderApplication.class)
+				.run(arguments.toArray(String[]::new))) {
+			OrderEventStreamService events = app.getBean(OrderEventStreamService.class);
+			drop(events, "warmup", WARMUP_ORDERS);
+			long start = System.nanoTime();
+			drop(events, "measured", ORDERS);
+			return ORDERS * 1_000_000_000.0 / (System.nanoTime() - start);
+		}
+	}
+
+	// Writes the file elsewhere and moves it in, so the poller never sees it half-written
+	private void drop(OrderEventStreamService events, String name, int count) throws Exception {
+		long target = events.getLastSequence() + count;
+		StringBuilder ndjson = new StringBuilder(count * 96);
+		for (int i = 0; i < count; i++) {
+			ndjson.append("{\"orderId\":\"").append(name).append('-').append(i)
+					.append("\",\"customerId\":\"CUST").append(i % 100)
+					.append("\",\"product\":\"Laptop\",\"amount\":15000.0,\"status\":\"CREATED\"}\n");
+		}
+		Path file = Files.writeString(dataDir.resolve(name + ".ndjson"), ndjson);
+		Files.move(file, INPUT.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+
+		long deadline = System.nanoTime() + TIMEOUT_NANOS;
+		while (events.getLastSequence() < target && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(events.getLastSequence()).as("orders processed").isGreaterThanOrEqualTo(target);
+	}
+}
@@ -0,0 +1,97 @@
+package com.order.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotPathSamplingFilterTests {
+
+	private final LoggerContext context = new LoggerContext();
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+	@BeforeEach
+	void setUp() {
+		HotPathSamplingFilter filter = new HotPathSamplingFilter();
+		filter.addLogger(sampling("com.order", 1, 5));
+		filter.addLogger(sampling("com.order.service", 10, 0));
+		filter.setContext(context);
+		filter.start();
+		context.addTurboFilter(filter);
+
+		appender.setContext(context);
+		appender.start();
+		context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+	}
+
+	@Test
+	void samplesHotPathEventsOfMostSpecificLogger() {
+		Logger logger = context.getLogger("com.order.service.OrderService");
+		for (int i = 0; i < 100; i++) {
+			logger.atInfo().addMarker(LogMarkers.HOT_PATH).addKeyValue("orderId", i).log("Order created");
+		}
+
+		assertThat(appender.list).hasSize(10);
+		assertThat(appender.list.get(1).getKeyValuePairs()).singleElement()
+				.satisfies(pair -> assertThat(pair.value).isEqualTo(10));
+	}
+
+	@Test
+	void rateLimitsHotPathEvents() {
+		Logger logger = context.getLogger("com.order.apachecamel.OrderQueueConsumer");
+		for (int i = 0; i < 100; i++) {
+			logger.info(LogMarkers.HOT_PATH, "Order processed");
+		}
+
+		assertThat(appender.list).hasSize(5);
+	}
+
+	@Test
+	void leavesOtherEventsAlone() {
+		Logger logger = context.getLogger("com.order.service.OrderService");
+		for (int i = 0; i < 20; i++) {
+			logger.info("Unmarked");
+			logger.warn(LogMarkers.HOT_PATH, "Warning");
+			context.getLogger("org.apache.camel").info(LogMarkers.HOT_PATH, "Other logger");
+		}
+
+		assertThat(appender.list).hasSize(60);
+	}
+
+	@Test
+	void reportsDroppedEventCounts() {
+		LoggerContext reporting = new LoggerContext();
+		HotPathSamplingFilter filter = new HotPathSamplingFilter();
+		filter.addLogger(sampling("com.order", 1, 5));
+		filter.setDropReportSeconds(0);
+		filter.setContext(reporting);
+		filter.start();
+		reporting.addTurboFilter(filter);
+		ListAppender<ILoggingEvent> reports = new ListAppender<>();
+		reports.setContext(reporting);
+		reports.start();
+		reporting.getLogger(HotPathSamplingFilter.class).addAppender(reports);
+
+		Logger logger = reporting.getLogger("com.order.apachecamel.OrderQueueConsumer");
+		for (int i = 0; i < 100; i++) {
+			logger.info(LogMarkers.HOT_PATH, "Order processed");
+		}
+
+		assertThat(reports.list).isNotEmpty().allSatisfy(event -> assertThat(event.getArgumentArray()[0])
+				.isEqualTo("com.order"));
+		assertThat(reports.list.stream().mapToLong(event -> (Long) event.getArgumentArray()[1]).sum())
+				.isEqualTo(95);
+	}
+
+	private static HotPathSamplingFilter.LoggerSampling sampling(String name, int sampleEvery, int maxPerSecond) {
+		HotPathSamplingFilter.LoggerSampling sampling = new HotPathSamplingFilter.LoggerSampling();
+		sampling.setName(name);
+		sampling.setSampleEvery(sampleEvery);
+		sampling.setMaxPerSecond(maxPerSecond);
+		return sampling;
+	}
+}
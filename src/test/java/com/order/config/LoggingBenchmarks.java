@@ -0,0 +1,129 @@
+package com.order.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.BenchmarkSupport.Operation;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static com.order.BenchmarkSupport.compare;
+
+/**
+ * Log lines written per created order, before and after: six synchronous
+ * string-formatted lines (one rendering the order JSON) against three
+ * structured HOT_PATH lines through the async appender, without and with
+ * an optional 200 lines/second per-logger limit. Output goes to a file with
+ * Boot's console pattern.
+ */
+@Tag("benchmark")
+class LoggingBenchmarks {
+
+	private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 1234 --- [order] [%15.15t] "
+			+ "%-40.40logger{39} : %m %kvp%n";
+	private static final Order ORDER = new Order("39a1a886-dd7c-45c3-9c77-373b3480154b", "CUST001", "Laptop", 15000.0,
+			OrderStatus.CREATED);
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void logLinesPerOrder() throws Exception {
+		String json = new ObjectMapper().writeValueAsString(ORDER);
+
+		LoggerContext before = context(false, 0);
+		Logger controller = before.getLogger("com.order.controller.OrderController");
+		Logger service = before.getLogger("com.order.service.OrderService");
+		Logger route = before.getLogger("com.order.apachecamel.FileToQueueRoute");
+		Logger consumer = before.getLogger("com.order.apachecamel.OrderQueueConsumer");
+		Operation previous = () -> {
+			controller.info("POST /api/orders - Creating order for customer: {}", ORDER.getCustomerId());
+			service.info("Order created successfully | OrderId={} | CustomerId={} | Amount={}",
+					ORDER.getOrderId(), ORDER.getCustomerId(), ORDER.getAmount());
+			controller.info("Order created successfully | OrderId={}", ORDER.getOrderId());
+			route.info("Validated OrderId={}", ORDER.getOrderId());
+			route.info("Order sent to queue | OrderId=" + json);
+			consumer.info("Order processed | OrderId={} | CustomerId={} | Amount={}",
+					ORDER.getOrderId(), ORDER.getCustomerId(), ORDER.getAmount());
+		};
+
+		LoggerContext unlimited = context(true, 0);
+		LoggerContext limited = context(true, 200);
+
+		compare("Order log lines: async + structured", previous, structured(unlimited));
+		compare("Order log lines: + 200/s limit", previous, structured(limited));
+
+		before.stop();
+		unlimited.stop();
+		limited.stop();
+	}
+
+	private static Operation structured(LoggerContext context) {
+		Logger service = context.getLogger("com.order.service.OrderService");
+		Logger route = context.getLogger("com.order.apachecamel.FileToQueueRoute");
+		Logger consumer = context.getLogger("com.order.apachecamel.OrderQueueConsumer");
+		return () -> {
+			service.atInfo().addMarker(LogMarkers.HOT_PATH)
+					.addKeyValue("orderId", ORDER.getOrderId())
+					.addKeyValue("customerId", ORDER.getCustomerId())
+					.addKeyValue("amount", ORDER.getAmount())
+					.log("Order created");
+			route.atInfo().addMarker(LogMarkers.HOT_PATH)
+					.addKeyValue("orderId", ORDER.getOrderId())
+					.addKeyValue("file", "orders.ndjson")
+					.log("Order sent to queue");
+			consumer.atInfo().addMarker(LogMarkers.HOT_PATH)
+					.addKeyValue("orderId", ORDER.getOrderId())
+					.addKeyValue("customerId", ORDER.getCustomerId())
+					.addKeyValue("amount", ORDER.getAmount())
+					.log("Order processed");
+		};
+	}
+
+	private LoggerContext context(boolean async, int maxPerSecond) {
+		LoggerContext context = new LoggerContext();
+
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern(PATTERN);
+		encoder.start();
+
+		FileAppender<ILoggingEvent> file = new FileAppender<>();
+		file.setContext(context);
+		file.setFile(dir.resolve((async ? "async-" : "sync-") + maxPerSecond + ".log").toString());
+		file.setEncoder(encoder);
+		file.start();
+
+		Appender<ILoggingEvent> root = file;
+		if (async) {
+			AsyncAppender asyncAppender = new AsyncAppender();
+			asyncAppender.setContext(context);
+			asyncAppender.setQueueSize(8192);
+			asyncAppender.setDiscardingThreshold(0);
+			asyncAppender.addAppender(file);
+			asyncAppender.start();
+			root = asyncAppender;
+
+			HotPathSamplingFilter filter = new HotPathSamplingFilter();
+			HotPathSamplingFilter.LoggerSampling sampling = new HotPathSamplingFilter.LoggerSampling();
+			sampling.setName("com.order");
+			sampling.setMaxPerSecond(maxPerSecond);
+			filter.addLogger(sampling);
+			filter.setContext(context);
+			filter.start();
+			context.addTurboFilter(filter);
+		}
+		context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(root);
+		return context;
+	}
+}
@@ -0,0 +1,164 @@
+package com.order.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.order.dto.CreateOrderRequest;
+import com.order.dto.CreateOrderResponse;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.jackson.JacksonDataFormat;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static com.order.BenchmarkSupport.compare;
+
+/**
+ * Compares the previous per-call-site Jackson setup (reflection-based bean
+ * (de)serialization, one mapper per site) with the shared mapper and
+ * {@link OrderJsonModule}.
+ */
+@Tag("benchmark")
+class OrderJsonBenchmarks {
+
+	private static final Order ORDER = new Order("39a1a886-dd7c-45c3-9c77-373b3480154b", "CUST001", "Laptop", 15000.0,
+			OrderStatus.CREATED);
+	private static final byte[] ORDER_JSON = ("{\"orderId\":\"39a1a886-dd7c-45c3-9c77-373b3480154b\","
+			+ "\"customerId\":\"CUST001\",\"product\":\"Laptop\",\"amount\":15000.0,\"status\":\"CREATED\"}")
+			.getBytes(StandardCharsets.UTF_8);
+	private static final byte[] REQUEST_JSON = "{\"customerId\":\"CUST001\",\"product\":\"Laptop\",\"amount\":15000.0}"
+			.getBytes(StandardCharsets.UTF_8);
+	private static final CreateOrderResponse RESPONSE = new CreateOrderResponse(ORDER.getOrderId(), "CREATED");
+
+	private static CamelContext camelContext;
+	private static ObjectMapper baselineMapper;
+	private static ObjectMapper sharedMapper;
+	private static JacksonDataFormat baselineFormat;
+	private static JacksonDataFormat baselineMarshalFormat;
+	private static JacksonDataFormat sharedFormat;
+
+	@TempDir
+	static Path dir;
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		camelContext = new DefaultCamelContext();
+		camelContext.start();
+
+		baselineMapper = new ObjectMapper();
+		baselineMapper.registerModule(new JavaTimeModule());
+		baselineMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		sharedMapper = new ObjectMapperConfig().objectMapper();
+
+		baselineFormat = dataFormat(baselineMapper);
+		// .marshal().json() used Camel's own default mapper
+		baselineMarshalFormat = dataFormat(new ObjectMapper());
+		sharedFormat = dataFormat(sharedMapper);
+	}
+
+	@AfterAll
+	static void tearDown() {
+		camelContext.stop();
+	}
+
+	@Test
+	void fileWrite() throws Exception {
+		File baselineFile = dir.resolve("baseline.json").toFile();
+		File sharedFile = dir.resolve("shared.json").toFile();
+
+		compare("OrderService file write",
+				() -> baselineMapper.writeValue(baselineFile, ORDER),
+				() -> sharedMapper.writeValue(sharedFile, ORDER));
+	}
+
+	@Test
+	void fileRouteUnmarshal() throws Exception {
+		Exchange exchange = new DefaultExchange(camelContext);
+
+		compare("FileToQueueRoute unmarshal",
+				() -> baselineFormat.unmarshal(exchange, new ByteArrayInputStream(ORDER_JSON)),
+				() -> sharedFormat.unmarshal(exchange, new ByteArrayInputStream(ORDER_JSON)));
+	}
+
+	@Test
+	void fileRouteMarshal() throws Exception {
+		Exchange exchange = new DefaultExchange(camelContext);
+		ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+
+		compare("FileToQueueRoute marshal",
+				() -> {
+					out.reset();
+					baselineMarshalFormat.marshal(exchange, ORDER, out);
+				},
+				() -> {
+					out.reset();
+					sharedFormat.marshal(exchange, ORDER, out);
+				});
+	}
+
+	@Test
+	void queueConsumerUnmarshal() throws Exception {
+		Exchange exchange = new DefaultExchange(camelContext);
+		String text = new String(ORDER_JSON, StandardCharsets.UTF_8);
+
+		// JMS TextMessage bodies arrive as String
+		compare("OrderQueueConsumer unmarshal",
+				() -> baselineFormat.unmarshal(exchange, (Object) text),
+				() -> sharedFormat.unmarshal(exchange, (Object) text));
+	}
+
+	@Test
+	void restRequestRead() throws Exception {
+		JacksonJsonHttpMessageConverter baseline = new JacksonJsonHttpMessageConverter();
+		OrderJsonHttpMessageConverter shared = new OrderJsonHttpMessageConverter(sharedMapper);
+
+		compare("REST CreateOrderRequest read",
+				() -> baseline.read(CreateOrderRequest.class, jsonInput(REQUEST_JSON)),
+				() -> shared.read(CreateOrderRequest.class, jsonInput(REQUEST_JSON)));
+	}
+
+	@Test
+	void restResponseWrite() throws Exception {
+		JacksonJsonHttpMessageConverter baseline = new JacksonJsonHttpMessageConverter();
+		OrderJsonHttpMessageConverter shared = new OrderJsonHttpMessageConverter(sharedMapper);
+
+		compare("REST CreateOrderResponse write",
+				() -> baseline.write(RESPONSE, MediaType.APPLICATION_JSON, new MockHttpOutputMessage()),
+				() -> shared.write(RESPONSE, MediaType.APPLICATION_JSON, new MockHttpOutputMessage()));
+		compare("REST Order write",
+				() -> baseline.write(ORDER, MediaType.APPLICATION_JSON, new MockHttpOutputMessage()),
+				() -> shared.write(ORDER, MediaType.APPLICATION_JSON, new MockHttpOutputMessage()));
+	}
+
+	private static JacksonDataFormat dataFormat(ObjectMapper mapper) throws Exception {
+		JacksonDataFormat format = new JacksonDataFormat();
+		format.setObjectMapper(mapper);
+		format.setUnmarshalType(Order.class);
+		format.setCamelContext(camelContext);
+		format.start();
+		return format;
+	}
+
+	private static MockHttpInputMessage jsonInput(byte[] body) {
+		MockHttpInputMessage input = new MockHttpInputMessage(body);
+		input.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		return input;
+	}
+}
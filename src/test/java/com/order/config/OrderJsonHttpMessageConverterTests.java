@@ -0,0 +1,36 @@
+package com.order.config;
+
+import com.order.dto.CreateOrderRequest;
+import com.order.model.Order;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderJsonHttpMessageConverterTests {
+
+	private final OrderJsonHttpMessageConverter converter =
+			new OrderJsonHttpMessageConverter(new ObjectMapperConfig().objectMapper());
+
+	@Test
+	void ignoresUnknownPropertiesInRequestBodies() throws Exception {
+		Object request = converter.read(CreateOrderRequest.class, null,
+				body("{\"customerId\":\"CUST001\",\"note\":{\"gift\":true},\"product\":\"Laptop\",\"amount\":10.5}"));
+
+		assertThat(request).isEqualTo(new CreateOrderRequest("CUST001", "Laptop", 10.5));
+	}
+
+	@Test
+	void stillRejectsUnknownStatuses() {
+		assertThatThrownBy(() -> converter.read(Order.class, null, body("{\"orderId\":\"1\",\"status\":\"LOST\"}")))
+				.isInstanceOf(HttpMessageNotReadableException.class);
+	}
+
+	private static MockHttpInputMessage body(String json) {
+		return new MockHttpInputMessage(json.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,52 @@
+package com.order.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.order.dto.CreateOrderRequest;
+import com.order.dto.CreateOrderResponse;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderJsonModuleTests {
+
+	private final ObjectMapper shared = new ObjectMapperConfig().objectMapper();
+	private final ObjectMapper bean = new ObjectMapper();
+
+	@Test
+	void writesSameJsonAsBeanSerialization() throws Exception {
+		Order order = new Order("1", "CUST001", "Laptop", 15000.0, OrderStatus.CREATED);
+		Order partial = new Order("2", null, null, 0, null);
+		CreateOrderRequest request = new CreateOrderRequest("CUST001", "Laptop", 10.5);
+		CreateOrderResponse response = new CreateOrderResponse("1", "CREATED");
+
+		for (Object value : new Object[] { order, partial, request, response }) {
+			assertThat(shared.writeValueAsString(value)).isEqualTo(bean.writeValueAsString(value));
+		}
+	}
+
+	@Test
+	void readsOrderIncludingCoercedValues() throws Exception {
+		Order order = shared.readValue(
+				"{\"status\":\"SHIPPED\",\"amount\":\"12.5\",\"orderId\":\"1\",\"customerId\":7,\"product\":null}",
+				Order.class);
+
+		assertThat(order.getOrderId()).isEqualTo("1");
+		assertThat(order.getCustomerId()).isEqualTo("7");
+		assertThat(order.getProduct()).isNull();
+		assertThat(order.getAmount()).isEqualTo(12.5);
+		assertThat(order.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+	}
+
+	@Test
+	void rejectsUnknownPropertiesAndStatuses() {
+		assertThatThrownBy(() -> shared.readValue("{\"orderId\":\"1\",\"createdAt\":\"x\"}", Order.class))
+				.isInstanceOf(UnrecognizedPropertyException.class);
+		assertThatThrownBy(() -> shared.readValue("{\"status\":\"LOST\"}", Order.class))
+				.isInstanceOf(InvalidFormatException.class);
+	}
+}
@@ -0,0 +1,124 @@
+package com.order.controller;
+
+import com.order.BenchmarkSupport;
+import com.order.OrderApplication;
+import com.order.service.JwtService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sustained order creations per second through {@code POST /api/orders} and
+ * {@code POST /api/orders/async}, with many more concurrent clients than
+ * Tomcat request threads. Order files are written with {@code order.file.fsync}
+ * so that accepting an order waits on the disk, which is what the async
+ * endpoint takes off the request threads; on a CPU-bound host both endpoints
+ * are limited by the same cores.
+ */
+@Tag("benchmark")
+class OrderCreationLoadBenchmarks {
+
+	private static final int TOMCAT_THREADS = 8;
+	private static final int CLIENTS = 64;
+	private static final int ROUNDS = 3;
+	private static final long ROUND_NANOS = 5_000_000_000L;
+	private static final String BODY = "{\"customerId\":\"CUST001\",\"product\":\"Laptop\",\"amount\":15000.0}";
+
+	private static ConfigurableApplicationContext app;
+	private static String baseUrl;
+	private static String token;
+	private static HttpClient client;
+	private static ExecutorService clients;
+
+	@BeforeAll
+	static void start() throws IOException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		app = new SpringApplicationBuilder(OrderApplication.class)
+				.run("--server.port=" + port,
+						"--server.tomcat.threads.max=" + TOMCAT_THREADS,
+						"--order.async.persistence-threads=32",
+						"--order.file.fsync=true",
+						"--camel.main.auto-startup=false",
+						"--spring.jmx.enabled=false",
+						"--logging.level.com.order=WARN");
+		baseUrl = "http://localhost:" + port;
+		token = app.getBean(JwtService.class).generateToken("loadtest", "USER");
+		clients = Executors.newFixedThreadPool(CLIENTS);
+		client = HttpClient.newBuilder().executor(clients).build();
+	}
+
+	@AfterAll
+	static void stop() {
+		clients.shutdownNow();
+		app.close();
+	}
+
+	@Test
+	void createOrderThroughput() throws Exception {
+		double sync = 0;
+		double async = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			sync = Math.max(sync, requestsPerSecond("/api/orders"));
+			async = Math.max(async, requestsPerSecond("/api/orders/async"));
+		}
+		BenchmarkSupport.report("Create order (" + TOMCAT_THREADS + " Tomcat threads, " + CLIENTS + " clients)",
+				sync, async);
+	}
+
+	private static double requestsPerSecond(String path) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Authorization", "Bearer " + token)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(BODY))
+				.build();
+		AtomicLong failures = new AtomicLong();
+		ExecutorService load = Executors.newFixedThreadPool(CLIENTS);
+		try {
+			List<Future<Long>> results = new ArrayList<>();
+			long start = System.nanoTime();
+			long deadline = start + ROUND_NANOS;
+			for (int i = 0; i < CLIENTS; i++) {
+				results.add(load.submit(() -> {
+					long created = 0;
+					while (System.nanoTime() < deadline) {
+						if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 201) {
+							created++;
+						} else {
+							failures.incrementAndGet();
+						}
+					}
+					return created;
+				}));
+			}
+			long total = 0;
+			for (Future<Long> result : results) {
+				total += result.get();
+			}
+			if (failures.get() > 0) {
+				System.out.printf("%s: %,d requests not created%n", path, failures.get());
+			}
+			return total * 1_000_000_000.0 / (System.nanoTime() - start);
+		} finally {
+			load.shutdownNow();
+		}
+	}
+}
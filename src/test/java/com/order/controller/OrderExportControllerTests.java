@@ -0,0 +1,98 @@
+package com.order.controller;
+
+import com.order.OrderApplication;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import com.order.repository.OrderRepository;
+import com.order.service.JwtService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the application and checks who may export and when the export is
+ * gzip-compressed.
+ */
+class OrderExportControllerTests {
+
+	private static final String CSV = "orderId,customerId,product,amount,status\nEXPORT-1,CUST001,Laptop,15000.0,CREATED\n";
+
+	private static ConfigurableApplicationContext app;
+	private static String exportUrl;
+	private static JwtService jwtService;
+	private static final HttpClient client = HttpClient.newHttpClient();
+
+	@BeforeAll
+	static void start() throws IOException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		app = new SpringApplicationBuilder(OrderApplication.class)
+				.run("--server.port=" + port,
+						"--camel.main.auto-startup=false",
+						"--spring.jmx.enabled=false");
+		exportUrl = "http://localhost:" + port + "/api/orders/export?format=csv";
+		jwtService = app.getBean(JwtService.class);
+		app.getBean(OrderRepository.class)
+				.save(new Order("EXPORT-1", "CUST001", "Laptop", 15000.0, OrderStatus.CREATED));
+	}
+
+	@AfterAll
+	static void stop() {
+		app.close();
+	}
+
+	@Test
+	void rejectsNonAdminUsers() throws Exception {
+		HttpResponse<byte[]> response = export(jwtService.generateToken("user", "USER"), null);
+
+		assertThat(response.statusCode()).isEqualTo(403);
+	}
+
+	@Test
+	void compressesOnlyWhenGzipIsAccepted() throws Exception {
+		String token = jwtService.generateToken("admin", "ADMIN");
+
+		HttpResponse<byte[]> plain = export(token, null);
+		assertThat(plain.statusCode()).isEqualTo(200);
+		assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+		assertThat(new String(plain.body(), StandardCharsets.UTF_8)).isEqualTo(CSV);
+
+		HttpResponse<byte[]> gzip = export(token, "br;q=1.0, gzip;q=0.5");
+		assertThat(gzip.headers().firstValue("Content-Encoding")).hasValue("gzip");
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.body()))) {
+			assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(CSV);
+		}
+
+		for (String refused : new String[] { "gzip;q=0", "x-gzip", "*;q=1, gzip;q=0", "identity" }) {
+			HttpResponse<byte[]> response = export(token, refused);
+			assertThat(response.headers().firstValue("Content-Encoding")).as(refused).isEmpty();
+			assertThat(new String(response.body(), StandardCharsets.UTF_8)).as(refused).isEqualTo(CSV);
+		}
+		assertThat(export(token, "*").headers().firstValue("Content-Encoding")).hasValue("gzip");
+	}
+
+	private static HttpResponse<byte[]> export(String token, String acceptEncoding) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(exportUrl))
+				.header("Authorization", "Bearer " + token);
+		if (acceptEncoding != null) {
+			request.header("Accept-Encoding", acceptEncoding);
+		}
+		return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+	}
+}
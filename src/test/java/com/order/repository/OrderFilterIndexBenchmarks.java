@@ -0,0 +1,57 @@
+package com.order.repository;
+
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.order.BenchmarkSupport.compare;
+
+/**
+ * Compares filter queries served from the sorted amount and status indexes
+ * with the same queries answered by scanning and sorting every order.
+ */
+@Tag("benchmark")
+class OrderFilterIndexBenchmarks {
+
+	private static final int ORDERS = 200_000;
+	private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+	@Test
+	void filterQueries() throws Exception {
+		OrderRepository repository = new OrderRepository();
+		for (int i = 0; i < ORDERS; i++) {
+			// Amounts spread over 1..100,000; statuses evenly, so each is about 14% of orders
+			repository.save(new Order("ORD" + i, "CUST" + (i % 20_000), "Laptop", 1 + (i * 7919L) % 100_000,
+					STATUSES[i % STATUSES.length]));
+		}
+
+		// About 1% of orders
+		compare("Amount range (" + ORDERS / 1000 + "k orders)",
+				() -> scan(repository, null, 50_000.0, 51_000.0),
+				() -> repository.findIdsByFilter(null, null, 50_000.0, 51_000.0).toList());
+		// About 1% of one status, 0.14% of orders
+		compare("Status + amount range (" + ORDERS / 1000 + "k orders)",
+				() -> scan(repository, OrderStatus.CANCELLED, 99_000.0, null),
+				() -> repository.findIdsByFilter(null, OrderStatus.CANCELLED, 99_000.0, null).toList());
+		// Half of all orders; the service reads one page of ids instead of copying every match
+		compare("Page of a wide range (" + ORDERS / 1000 + "k orders)",
+				() -> repository.findIdsByFilter(null, null, 50_000.0, null).toList().subList(200, 220),
+				() -> repository.findIdsByFilter(null, null, 50_000.0, null).skip(200).limit(20).toList());
+	}
+
+	// Baseline: what clients did before, filter everything and sort for stable pages
+	private static List<String> scan(OrderRepository repository, OrderStatus status, Double min, Double max) {
+		return repository.streamAll()
+				.filter(o -> (status == null || status == o.getStatus())
+						&& (min == null || o.getAmount() >= min)
+						&& (max == null || o.getAmount() <= max))
+				.sorted(Comparator.comparingDouble(Order::getAmount).thenComparing(Order::getOrderId))
+				.map(Order::getOrderId)
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,62 @@
+package com.order.repository;
+
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderFilterIndexTests {
+
+	private final OrderRepository repository = new OrderRepository();
+
+	@Test
+	void filtersByAmountRangeInclusiveSortedByAmount() {
+		repository.save(new Order("A", "CUST1", "Laptop", 15_000, OrderStatus.CREATED));
+		repository.save(new Order("B", "CUST2", "Mouse", 50, OrderStatus.CREATED));
+		repository.save(new Order("C", "CUST3", "Desk", 10_000, OrderStatus.SHIPPED));
+		repository.save(new Order("D", "CUST1", "Chair", 10_000, OrderStatus.CREATED));
+
+		assertThat(repository.findIdsByFilter(null, null, 10_000.0, null)).containsExactly("C", "D", "A");
+		assertThat(repository.findIdsByFilter(null, null, null, 10_000.0)).containsExactly("B", "C", "D");
+		assertThat(repository.findIdsByFilter(null, OrderStatus.CREATED, 100.0, 10_000.0)).containsExactly("D");
+	}
+
+	@Test
+	void statusChangeAndResaveMoveOrderBetweenIndexes() {
+		Order order = new Order("A", "CUST1", "Laptop", 500, OrderStatus.CREATED);
+		repository.save(order);
+
+		Order cancelled = repository.updateStatus("A", OrderStatus.CANCELLED).orElseThrow();
+		assertThat(order.getStatus()).isEqualTo(OrderStatus.CREATED);
+		assertThat(repository.findIdsByFilter(null, OrderStatus.CREATED, null, null)).isEmpty();
+		assertThat(repository.findIdsByFilter(null, OrderStatus.CANCELLED, null, null)).containsExactly("A");
+
+		cancelled.setAmount(20_000);
+		repository.save(cancelled);
+		assertThat(repository.findIdsByFilter(null, OrderStatus.CANCELLED, 10_000.0, null)).containsExactly("A");
+		assertThat(repository.findIdsByFilter(null, null, null, 1_000.0)).isEmpty();
+
+		assertThat(repository.countByStatus(OrderStatus.CANCELLED)).isEqualTo(1);
+		assertThat(repository.countByStatus(OrderStatus.CREATED)).isZero();
+
+		repository.remove("A");
+		assertThat(repository.findIdsByFilter(null, null, null, null)).isEmpty();
+		assertThat(repository.countByStatus(null)).isZero();
+	}
+
+	@Test
+	void combinesCustomerWithStatusAndAmount() {
+		repository.save(new Order("A", "CUST1", "Laptop", 300, OrderStatus.CANCELLED));
+		repository.save(new Order("B", "CUST1", "Mouse", 100, OrderStatus.CANCELLED));
+		repository.save(new Order("C", "CUST1", "Desk", 200, OrderStatus.CREATED));
+		repository.save(new Order("D", "CUST2", "Chair", 100, OrderStatus.CANCELLED));
+
+		List<String> ids = repository.findIdsByFilter("CUST1", OrderStatus.CANCELLED, null, null).toList();
+
+		assertThat(ids).containsExactly("B", "A");
+		assertThat(repository.findIdsByFilter("CUST1", null, 150.0, 250.0)).containsExactly("C");
+	}
+}
@@ -0,0 +1,42 @@
+package com.order.repository;
+
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.order.BenchmarkSupport.compare;
+
+/**
+ * Compares customer lookups on a single-map store (the previous full scan)
+ * with the default sharded store.
+ */
+@Tag("benchmark")
+class OrderRepositoryBenchmarks {
+
+	private static final int ORDERS = 200_000;
+	private static final int CUSTOMERS = 20_000;
+
+	@Test
+	void findByCustomerId() throws Exception {
+		OrderRepository unsharded = filled(new OrderRepository(1));
+		OrderRepository sharded = filled(new OrderRepository());
+
+		compare("findByCustomerId (" + ORDERS / 1000 + "k orders)",
+				() -> unsharded.findByCustomerId(randomCustomer()),
+				() -> sharded.findByCustomerId(randomCustomer()));
+	}
+
+	private static OrderRepository filled(OrderRepository repository) {
+		for (int i = 0; i < ORDERS; i++) {
+			repository.save(new Order("ORD" + i, "CUST" + (i % CUSTOMERS), "Laptop", i, OrderStatus.CREATED));
+		}
+		return repository;
+	}
+
+	private static String randomCustomer() {
+		return "CUST" + ThreadLocalRandom.current().nextInt(CUSTOMERS);
+	}
+}
@@ -0,0 +1,37 @@
+package com.order.repository;
+
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderRepositoryTests {
+
+	private final OrderRepository repository = new OrderRepository();
+
+	@Test
+	void findsByIdAndCustomerAfterSaveAndRemove() {
+		Order order = new Order("ORD1", "CUST1", "Laptop", 100, OrderStatus.CREATED);
+		repository.save(order);
+
+		assertThat(repository.findById("ORD1")).containsSame(order);
+		assertThat(repository.findByCustomerId("CUST1")).containsExactly(order);
+
+		repository.remove("ORD1");
+		assertThat(repository.findById("ORD1")).isEmpty();
+		assertThat(repository.findByCustomerId("CUST1")).isEmpty();
+		assertThat(repository.streamAll()).isEmpty();
+	}
+
+	@Test
+	void resavingUnderAnotherCustomerMovesTheOrder() {
+		repository.save(new Order("ORD1", "CUST1", "Laptop", 100, OrderStatus.CREATED));
+		Order moved = new Order("ORD1", "CUST2", "Laptop", 100, OrderStatus.CREATED);
+		repository.save(moved);
+
+		assertThat(repository.findByCustomerId("CUST1")).isEmpty();
+		assertThat(repository.findByCustomerId("CUST2")).containsExactly(moved);
+		assertThat(repository.streamAll()).containsExactly(moved);
+	}
+}
@@ -0,0 +1,92 @@
+package com.order.repository;
+
+import com.order.BenchmarkSupport;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the heap the product index adds per order and shows that query
+ * latency follows the number of matches, not the number of orders stored.
+ */
+@Tag("benchmark")
+class ProductSearchIndexBenchmarks {
+
+	private static final String[] PRODUCTS = { "Gaming Laptop", "Laptop Bag", "Wireless Mouse", "Mechanical Keyboard",
+			"USB-C Hub", "Standing Desk", "Desk Lamp", "Office Chair", "Monitor Arm", "Webcam HD" };
+
+	@Test
+	void indexMemoryOverhead() {
+		int count = 500_000;
+		Map<String, Order> orders = new HashMap<>(count * 2);
+		for (int i = 0; i < count; i++) {
+			String id = UUID.randomUUID().toString();
+			// Unique suffix per 1000 orders gives a realistic spread of rare tokens
+			String product = PRODUCTS[i % PRODUCTS.length] + " v" + (i / 1000);
+			orders.put(id, new Order(id, "CUST" + (i % 5000), product, i, OrderStatus.CREATED));
+		}
+
+		long before = usedHeap();
+		ProductSearchIndex index = new ProductSearchIndex();
+		orders.values().forEach(order -> index.index(order.getOrderId(), order.getProduct()));
+		long after = usedHeap();
+
+		System.out.printf("Product index: %,d orders, %,d tokens, %,d bytes total, %,.0f bytes/order%n",
+				count, index.tokenCount(), after - before, (after - before) / (double) count);
+	}
+
+	@Test
+	void queryLatencyIndependentOfStoreSize() throws Exception {
+		for (int storeSize : new int[] { 10_000, 1_000_000 }) {
+			ProductSearchIndex index = new ProductSearchIndex();
+			for (int i = 0; i < storeSize; i++) {
+				index.index(Integer.toString(i), PRODUCTS[i % PRODUCTS.length] + String.format(" sku%07d", i));
+			}
+			// The token query matches 1 order and the prefix query 10, whatever the store size
+			double exact = BenchmarkSupport.opsPerSecond(() -> index.search("sku0000042", false).toList());
+			double prefix = BenchmarkSupport.opsPerSecond(() -> index.search("sku000004", true).toList());
+			System.out.printf("Store %,9d orders: token query %,12.0f ops/s   prefix query %,12.0f ops/s%n",
+					storeSize, exact, prefix);
+		}
+	}
+
+	@Test
+	void pageOfCommonMatches() throws Exception {
+		int storeSize = 200_000;
+		ProductSearchIndex index = new ProductSearchIndex();
+		for (int i = 0; i < storeSize; i++) {
+			index.index(UUID.randomUUID().toString(), PRODUCTS[i % PRODUCTS.length]);
+		}
+		// "laptop" matches 20% of orders, "la" 30%, and "desk" plus "l" 10% through a two-term filter
+		for (String[] query : new String[][] { { "laptop", "false" }, { "la", "true" }, { "desk l", "true" } }) {
+			boolean prefix = Boolean.parseBoolean(query[1]);
+			BenchmarkSupport.compare("Page 6 of \"" + query[0] + "\"" + (prefix ? " prefix" : ""),
+					() -> sortedPage(index, query[0], prefix),
+					() -> index.search(query[0], prefix).skip(100).limit(20).toList());
+		}
+	}
+
+	// Baseline: what the search did before, copy every match and sort it for each page
+	private static List<String> sortedPage(ProductSearchIndex index, String query, boolean prefix) {
+		List<String> ids = new ArrayList<>(index.search(query, prefix).collect(Collectors.toSet()));
+		Collections.sort(ids);
+		return ids.subList(100, 120);
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,55 @@
+package com.order.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTests {
+
+	private final ProductSearchIndex index = new ProductSearchIndex();
+
+	@Test
+	void matchesAllTermsCaseInsensitively() {
+		index.index("1", "Gaming Laptop 15\"");
+		index.index("2", "Laptop bag");
+		index.index("3", "gaming mouse");
+
+		assertThat(index.search("laptop", false)).containsExactly("1", "2");
+		assertThat(index.search("GAMING laptop", false)).containsExactly("1");
+		assertThat(index.search("lap", false)).isEmpty();
+	}
+
+	@Test
+	void matchesPrefixes() {
+		index.index("1", "Laptop");
+		index.index("2", "Lamp");
+		index.index("3", "Desk");
+
+		assertThat(index.search("la", true)).containsExactly("1", "2");
+		assertThat(index.search("lap", true)).containsExactly("1");
+	}
+
+	@Test
+	void streamsPrefixAndMultiTermMatchesInIdOrderWithoutDuplicates() {
+		index.index("4", "Lamp");
+		index.index("2", "Laptop lamp");
+		index.index("3", "Gaming laptop");
+		index.index("1", "Gaming lamp");
+		index.index("5", "Desk");
+
+		assertThat(index.search("la", true)).containsExactly("1", "2", "3", "4");
+		assertThat(index.search("gam la", true)).containsExactly("1", "3");
+		assertThat(index.search("gaming lamp", false)).containsExactly("1");
+		assertThat(index.search("la", true).skip(1).limit(2)).containsExactly("2", "3");
+	}
+
+	@Test
+	void reindexingReplacesOldTokens() {
+		index.index("1", "Laptop");
+		index.index("1", "Desk lamp");
+
+		assertThat(index.search("laptop", false)).isEmpty();
+		assertThat(index.search("lamp", false)).containsExactly("1");
+		assertThat(index.tokenCount()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,78 @@
+package com.order.service;
+
+import com.order.BenchmarkSupport;
+import com.order.dto.LoginResponse;
+import com.order.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Logins per second under concurrent load: every login doing a bcrypt check
+ * (credential cache disabled) against cached verification, and token renewal
+ * through refresh tokens.
+ */
+@Tag("benchmark")
+class AuthServiceBenchmarks {
+
+	private static final int THREADS = Runtime.getRuntime().availableProcessors() * 2;
+	private static final long DURATION_NANOS = 3_000_000_000L;
+
+	@Test
+	void loginThroughput() throws Exception {
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+		UserRepository users = new UserRepository("admin", encoder.encode("password"));
+		JwtService jwtService = new JwtService();
+		ReflectionTestUtils.setField(jwtService, "secret", "mySecretKey1234567890123456789012345678901234567890");
+		ReflectionTestUtils.setField(jwtService, "expiration", 86_400_000L);
+
+		AuthService uncached = new AuthService(users, encoder, jwtService, true, 0, 10_000, 604_800_000L, 100_000);
+		AuthService cached = new AuthService(users, encoder, jwtService, true, 300_000, 10_000, 604_800_000L, 100_000);
+
+		double bcryptEveryLogin = loginsPerSecond(thread -> uncached.login("admin", "password"));
+		double cachedLogin = loginsPerSecond(thread -> cached.login("admin", "password"));
+		BenchmarkSupport.report("Admin login (" + THREADS + " threads)", bcryptEveryLogin, cachedLogin);
+
+		LoginResponse[] latest = new LoginResponse[THREADS];
+		for (int i = 0; i < THREADS; i++) {
+			latest[i] = cached.login("admin", "password");
+		}
+		double refresh = loginsPerSecond(thread -> latest[thread] = cached.refresh(latest[thread].getRefreshToken()));
+		BenchmarkSupport.report("Token renewal: login vs refresh", bcryptEveryLogin, refresh);
+	}
+
+	private static double loginsPerSecond(Function<Integer, LoginResponse> login) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Long>> results = new ArrayList<>();
+			long start = System.nanoTime();
+			long deadline = start + DURATION_NANOS;
+			for (int t = 0; t < THREADS; t++) {
+				int thread = t;
+				results.add(pool.submit(() -> {
+					long count = 0;
+					while (System.nanoTime() < deadline) {
+						login.apply(thread);
+						count++;
+					}
+					return count;
+				}));
+			}
+			long total = 0;
+			for (Future<Long> result : results) {
+				total += result.get();
+			}
+			return total * 1_000_000_000.0 / (System.nanoTime() - start);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
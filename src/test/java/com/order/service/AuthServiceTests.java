@@ -0,0 +1,117 @@
+package com.order.service;
+
+import com.order.dto.LoginResponse;
+import com.order.model.User;
+import com.order.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthServiceTests {
+
+	private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+	private final AtomicInteger bcryptChecks = new AtomicInteger();
+	private final PasswordEncoder countingEncoder = new PasswordEncoder() {
+		@Override
+		public String encode(CharSequence rawPassword) {
+			return bcrypt.encode(rawPassword);
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			bcryptChecks.incrementAndGet();
+			return bcrypt.matches(rawPassword, encodedPassword);
+		}
+	};
+
+	private UserRepository users;
+	private JwtService jwtService;
+
+	@BeforeEach
+	void setUp() {
+		users = new UserRepository("admin", bcrypt.encode("password"));
+		jwtService = new JwtService();
+		ReflectionTestUtils.setField(jwtService, "secret", "mySecretKey1234567890123456789012345678901234567890");
+		ReflectionTestUtils.setField(jwtService, "expiration", 60_000L);
+	}
+
+	@Test
+	void adminLoginIsVerifiedOnceThenCached() {
+		AuthService auth = authService(true, 60_000);
+
+		LoginResponse first = auth.login("admin", "password");
+		auth.login("admin", "password");
+
+		assertThat(jwtService.extractRole(first.getToken())).isEqualTo("ADMIN");
+		assertThat(bcryptChecks).hasValue(1);
+		assertThatThrownBy(() -> auth.login("admin", "wrong")).isInstanceOf(BadCredentialsException.class);
+		assertThat(bcryptChecks).hasValue(2);
+	}
+
+	@Test
+	void changedPasswordIsVerifiedAgain() {
+		AuthService auth = authService(true, 60_000);
+		auth.login("admin", "password");
+
+		users.save(new User("admin", bcrypt.encode("changed"), "ADMIN"));
+
+		assertThatThrownBy(() -> auth.login("admin", "password")).isInstanceOf(BadCredentialsException.class);
+		assertThat(jwtService.extractRole(auth.login("admin", "changed").getToken())).isEqualTo("ADMIN");
+	}
+
+	@Test
+	void unknownUsersDependOnDemoMode() {
+		assertThat(jwtService.extractRole(authService(true, 60_000).login("alice", "any").getToken())).isEqualTo("USER");
+		assertThatThrownBy(() -> authService(false, 60_000).login("alice", "any"))
+				.isInstanceOf(BadCredentialsException.class);
+	}
+
+	@Test
+	void refreshTokenIsSingleUse() {
+		AuthService auth = authService(true, 0);
+		LoginResponse login = auth.login("admin", "password");
+
+		LoginResponse refreshed = auth.refresh(login.getRefreshToken());
+
+		assertThat(jwtService.extractRole(refreshed.getToken())).isEqualTo("ADMIN");
+		assertThat(refreshed.getRefreshToken()).isNotEqualTo(login.getRefreshToken());
+		assertThat(bcryptChecks).hasValue(1);
+		assertThatThrownBy(() -> auth.refresh(login.getRefreshToken())).isInstanceOf(BadCredentialsException.class);
+	}
+
+	@Test
+	void newLoginRevokesTheUsersPreviousRefreshToken() {
+		AuthService auth = authService(true, 60_000);
+		LoginResponse first = auth.login("alice", "any");
+		LoginResponse second = auth.login("alice", "any");
+
+		assertThatThrownBy(() -> auth.refresh(first.getRefreshToken())).isInstanceOf(BadCredentialsException.class);
+		assertThat(auth.refresh(second.getRefreshToken()).getRefreshToken()).isNotNull();
+	}
+
+	@Test
+	void refreshTokensAreCappedAcrossUsers() {
+		AuthService auth = new AuthService(users, countingEncoder, jwtService, true, 60_000, 100, 60_000, 2);
+		auth.login("alice", "any");
+		auth.login("bob", "any");
+
+		LoginResponse overLimit = auth.login("carol", "any");
+
+		assertThat(jwtService.extractRole(overLimit.getToken())).isEqualTo("USER");
+		assertThat(overLimit.getRefreshToken()).isNull();
+		// A user who already holds a token still gets a replacement
+		assertThat(auth.login("alice", "any").getRefreshToken()).isNotNull();
+	}
+
+	private AuthService authService(boolean acceptAnyUser, long credentialTtl) {
+		return new AuthService(users, countingEncoder, jwtService, acceptAnyUser, credentialTtl, 100, 60_000, 100);
+	}
+}
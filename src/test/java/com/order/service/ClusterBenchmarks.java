@@ -0,0 +1,130 @@
+package com.order.service;
+
+import com.order.BenchmarkSupport;
+import com.order.OrderApplication;
+import com.order.dto.ClusterNodeRequest;
+import com.order.dto.CreateOrderRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order creation throughput against a cluster of 1, 2 and 3 nodes, all
+ * started in this JVM on localhost as in {@link ClusterServiceTests}.
+ *
+ * <p>Clients spread {@code POST /api/orders} over every member, so with more
+ * than one node most requests are forwarded to the customer's owner. The
+ * nodes share this machine's cores, so the numbers show what partitioning
+ * costs per request rather than how far it scales out; to measure scale-out,
+ * run the nodes on separate hosts.
+ */
+@Tag("benchmark")
+class ClusterBenchmarks {
+
+	private static final int NODES = 3;
+	private static final int CLIENTS = 8;
+	private static final int CUSTOMERS = 10_000;
+	private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(2);
+	private static final long MEASURE_NANOS = TimeUnit.SECONDS.toNanos(5);
+	private static final String SECRET = "cluster-benchmark-secret";
+
+	@Test
+	void createOrdersOnOneToThreeNodes() throws Exception {
+		List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+		List<String> urls = new ArrayList<>();
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		try {
+			for (int i = 0; i < NODES; i++) {
+				int port = freePort();
+				urls.add("http://localhost:" + port);
+				nodes.add(startNode(port));
+			}
+			String token = nodes.get(0).getBean(JwtService.class).generateToken("admin", "ADMIN");
+			RestClient client = RestClient.builder()
+					.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+					.build();
+
+			double single = ordersPerSecond(clients, client, urls.subList(0, 1));
+			for (int members = 2; members <= NODES; members++) {
+				client.post()
+						.uri(urls.get(0) + "/api/cluster/nodes")
+						.contentType(MediaType.APPLICATION_JSON)
+						.body(new ClusterNodeRequest(urls.get(members - 1)))
+						.retrieve()
+						.toBodilessEntity();
+				BenchmarkSupport.report("Cluster create, " + members + " nodes vs 1", single,
+						ordersPerSecond(clients, client, urls.subList(0, members)));
+			}
+		} finally {
+			clients.shutdownNow();
+			nodes.forEach(ConfigurableApplicationContext::close);
+		}
+	}
+
+	private static double ordersPerSecond(ExecutorService clients, RestClient client, List<String> members)
+			throws Exception {
+		run(clients, client, members, WARMUP_NANOS);
+		long start = System.nanoTime();
+		long count = run(clients, client, members, MEASURE_NANOS);
+		return count * 1_000_000_000.0 / (System.nanoTime() - start);
+	}
+
+	private static long run(ExecutorService clients, RestClient client, List<String> members, long nanos)
+			throws Exception {
+		long deadline = System.nanoTime() + nanos;
+		List<Future<Long>> results = new ArrayList<>();
+		for (int i = 0; i < CLIENTS; i++) {
+			int first = i;
+			results.add(clients.submit(() -> {
+				long count = 0;
+				while (System.nanoTime() < deadline) {
+					String customerId = "CUST" + ThreadLocalRandom.current().nextInt(CUSTOMERS);
+					client.post()
+							.uri(members.get((int) ((first + count) % members.size())) + "/api/orders")
+							.contentType(MediaType.APPLICATION_JSON)
+							.body(new CreateOrderRequest(customerId, "Laptop", 100.0))
+							.retrieve()
+							.toBodilessEntity();
+					count++;
+				}
+				return count;
+			}));
+		}
+		long total = 0;
+		for (Future<Long> result : results) {
+			total += result.get();
+		}
+		return total;
+	}
+
+	private static ConfigurableApplicationContext startNode(int port) {
+		return new SpringApplicationBuilder(OrderApplication.class)
+				.run("--server.port=" + port,
+						"--order.cluster.enabled=true",
+						"--order.cluster.self=http://localhost:" + port,
+						"--order.cluster.secret=" + SECRET,
+						"--camel.main.auto-startup=false",
+						"--spring.jmx.enabled=false",
+						"--logging.level.root=WARN");
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
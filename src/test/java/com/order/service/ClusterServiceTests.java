@@ -0,0 +1,225 @@
+package com.order.service;
+
+import com.order.OrderApplication;
+import com.order.dto.ClusterMembershipResponse;
+import com.order.dto.ClusterNodeRequest;
+import com.order.dto.CreateOrderRequest;
+import com.order.dto.CreateOrderResponse;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import com.order.repository.OrderRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two nodes in this JVM and checks forwarding and order hand-off on
+ * membership changes.
+ */
+class ClusterServiceTests {
+
+	private static final int CUSTOMERS = 100;
+	private static final String SECRET = "cluster-test-secret";
+
+	private static ConfigurableApplicationContext nodeA;
+	private static ConfigurableApplicationContext nodeB;
+	private static String urlA;
+	private static String urlB;
+	private static RestClient client;
+
+	@BeforeAll
+	static void startNodes() throws IOException {
+		int portA = freePort();
+		int portB = freePort();
+		urlA = "http://localhost:" + portA;
+		urlB = "http://localhost:" + portB;
+		nodeA = startNode(portA);
+		nodeB = startNode(portB);
+
+		String token = nodeA.getBean(JwtService.class).generateToken("admin", "ADMIN");
+		client = RestClient.builder()
+				.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.build();
+	}
+
+	@AfterAll
+	static void stopNodes() {
+		nodeA.close();
+		nodeB.close();
+	}
+
+	@Test
+	void forwardsAndRebalancesOnMembershipChanges() {
+		List<String> orderIds = new ArrayList<>();
+		for (int i = 0; i < CUSTOMERS; i++) {
+			orderIds.add(createOrder(urlA, "CUST" + i));
+		}
+
+		ClusterMembershipResponse joined = client.post()
+				.uri(urlA + "/api/cluster/nodes")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(new ClusterNodeRequest(urlB))
+				.retrieve()
+				.body(ClusterMembershipResponse.class);
+
+		assertThat(joined.getNodes()).containsExactlyInAnyOrder(urlA, urlB);
+		// The join returns once every node has finished handing orders off
+		assertThat(joined.getMovedOrders()).isPositive();
+		assertThat(joined.isRebalancing()).isFalse();
+		assertThat(localCount(nodeA) + localCount(nodeB)).isEqualTo(CUSTOMERS);
+		ClusterService clusterB = nodeB.getBean(ClusterService.class);
+		assertThat(nodeB.getBean(OrderRepository.class).streamAll())
+				.allSatisfy(order -> assertThat(clusterB.ownerOf(order.getCustomerId())).isEqualTo(urlB));
+
+		// Every order is reachable through either node
+		for (int i = 0; i < CUSTOMERS; i++) {
+			String node = i % 2 == 0 ? urlA : urlB;
+			Order order = client.get().uri(node + "/api/orders/{id}", orderIds.get(i)).retrieve().body(Order.class);
+			assertThat(order.getCustomerId()).isEqualTo("CUST" + i);
+			List<Order> byCustomer = client.get()
+					.uri(node + "/api/orders?customerId={id}", "CUST" + i)
+					.retrieve()
+					.body(new ParameterizedTypeReference<List<Order>>() {
+					});
+			assertThat(byCustomer).extracting(Order::getOrderId).containsExactly(orderIds.get(i));
+		}
+
+		// New orders land on the owner whichever node receives them
+		String forwarded = createOrder(urlA, "CUST-NEW-1");
+		String ownerOfNew = clusterB.ownerOf("CUST-NEW-1");
+		ConfigurableApplicationContext owner = ownerOfNew.equals(urlA) ? nodeA : nodeB;
+		assertThat(owner.getBean(OrderRepository.class).findById(forwarded)).isPresent();
+
+		ClusterMembershipResponse left = client.delete()
+				.uri(urlA + "/api/cluster/nodes?url={url}", urlB)
+				.retrieve()
+				.body(ClusterMembershipResponse.class);
+
+		assertThat(left.getNodes()).containsExactly(urlA);
+		assertThat(localCount(nodeA)).isEqualTo(CUSTOMERS + 1);
+		assertThat(localCount(nodeB)).isZero();
+	}
+
+	@Test
+	void unreachableNodeFailsTheMembershipChangeBeforeAnyRingChanges() throws IOException {
+		List<String> nodesA = nodeA.getBean(ClusterService.class).membership().getNodes();
+		List<String> nodesB = nodeB.getBean(ClusterService.class).membership().getNodes();
+		String unreachable = "http://localhost:" + freePort();
+
+		HttpStatusCode status = client.post()
+				.uri(urlA + "/api/cluster/nodes")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(new ClusterNodeRequest(unreachable))
+				.exchange((request, response) -> response.getStatusCode());
+
+		assertThat(status.is2xxSuccessful()).isFalse();
+		assertThat(nodeA.getBean(ClusterService.class).membership().getNodes()).isEqualTo(nodesA);
+		assertThat(nodeB.getBean(ClusterService.class).membership().getNodes()).isEqualTo(nodesB);
+	}
+
+	@Test
+	void handsOffOrdersSavedAcrossAMembershipChange() {
+		ClusterService clusterA = nodeA.getBean(ClusterService.class);
+		long version = clusterA.membershipVersion();
+		client.post()
+				.uri(urlA + "/api/cluster/nodes")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(new ClusterNodeRequest(urlB))
+				.retrieve()
+				.toBodilessEntity();
+
+		// Saved as if it had passed isLocal just before the join, after the rebalance collected its orders
+		String customerId = IntStream.range(0, 1000).mapToObj(i -> "CUST-LATE-" + i)
+				.filter(id -> clusterA.ownerOf(id).equals(urlB))
+				.findFirst()
+				.orElseThrow();
+		Order late = new Order("ORD-LATE", customerId, "Laptop", 100.0, OrderStatus.CREATED);
+		nodeA.getBean(OrderRepository.class).save(late);
+		clusterA.handOffIfMoved(late, version);
+
+		assertThat(nodeA.getBean(OrderRepository.class).findById("ORD-LATE")).isEmpty();
+		assertThat(nodeB.getBean(OrderRepository.class).findById("ORD-LATE")).isPresent();
+
+		client.delete().uri(urlA + "/api/cluster/nodes?url={url}", urlB).retrieve().toBodilessEntity();
+		nodeA.getBean(OrderRepository.class).remove("ORD-LATE");
+	}
+
+	@Test
+	void unknownOrderIsNotFoundWhileAPeerIsDown() throws IOException {
+		ClusterService clusterA = nodeA.getBean(ClusterService.class);
+		List<String> previous = clusterA.membership().getNodes();
+		clusterA.applyMembership(List.of(urlA, "http://localhost:" + freePort()));
+		try {
+			HttpStatusCode status = client.get()
+					.uri(urlA + "/api/orders/{id}", "ORD-MISSING")
+					.exchange((request, response) -> response.getStatusCode());
+
+			assertThat(status.value()).isEqualTo(404);
+		} finally {
+			clusterA.applyMembership(previous);
+		}
+	}
+
+	@Test
+	void rejectsNodeCallsWithoutTheClusterSecret() {
+		HttpStatusCode forged = client.get()
+				.uri(urlA + "/api/orders?customerId={id}", "CUST1")
+				.header(ClusterService.FORWARDED_HEADER, urlB)
+				.exchange((request, response) -> response.getStatusCode());
+		assertThat(forged.value()).isEqualTo(403);
+
+		HttpStatusCode wrongSecret = client.put()
+				.uri(urlA + "/api/cluster/membership")
+				.header(ClusterService.SECRET_HEADER, "not-the-secret")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(List.of(urlB))
+				.exchange((request, response) -> response.getStatusCode());
+		assertThat(wrongSecret.value()).isEqualTo(403);
+		assertThat(nodeA.getBean(ClusterService.class).membership().getNodes()).contains(urlA);
+	}
+
+	private static String createOrder(String node, String customerId) {
+		return client.post()
+				.uri(node + "/api/orders")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(new CreateOrderRequest(customerId, "Laptop", 100.0))
+				.retrieve()
+				.body(CreateOrderResponse.class)
+				.getOrderId();
+	}
+
+	private static long localCount(ConfigurableApplicationContext node) {
+		return node.getBean(OrderRepository.class).streamAll().count();
+	}
+
+	private static ConfigurableApplicationContext startNode(int port) {
+		return new SpringApplicationBuilder(OrderApplication.class)
+				.run("--server.port=" + port,
+						"--order.cluster.enabled=true",
+						"--order.cluster.self=http://localhost:" + port,
+						"--order.cluster.secret=" + SECRET,
+						"--camel.main.auto-startup=false",
+						"--spring.jmx.enabled=false");
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.order.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTests {
+
+	private static final int KEYS = 30_000;
+
+	@Test
+	void spreadsKeysEvenly() {
+		ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+
+		Map<String, Integer> counts = new HashMap<>();
+		for (int i = 0; i < KEYS; i++) {
+			counts.merge(ring.ownerOf("CUST" + i), 1, Integer::sum);
+		}
+
+		assertThat(counts).hasSize(3);
+		assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 3 * 8 / 10, KEYS / 3 * 12 / 10));
+	}
+
+	@Test
+	void addingNodeOnlyMovesKeysToIt() {
+		ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+		ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+
+		int moved = 0;
+		for (int i = 0; i < KEYS; i++) {
+			String key = "CUST" + i;
+			if (!before.ownerOf(key).equals(after.ownerOf(key))) {
+				assertThat(after.ownerOf(key)).isEqualTo("d");
+				moved++;
+			}
+		}
+
+		assertThat(moved).isBetween(KEYS / 4 * 8 / 10, KEYS / 4 * 12 / 10);
+	}
+}
@@ -0,0 +1,50 @@
+package com.order.service;
+
+import com.order.dto.OrderEvent;
+import com.order.enums.OrderEventType;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderEventRingBufferTests {
+
+	@Test
+	void readsFromCursorWithFilter() {
+		OrderEventRingBuffer ring = new OrderEventRingBuffer(8);
+		publish(ring, "A");
+		publish(ring, "B");
+		publish(ring, "A");
+
+		List<OrderEvent> out = new ArrayList<>();
+		long next = ring.read(1, 10, e -> "A".equals(e.getOrder().getCustomerId()), out);
+
+		assertThat(next).isEqualTo(4);
+		assertThat(out).extracting(OrderEvent::getSequence).containsExactly(1L, 3L);
+	}
+
+	@Test
+	void slowReaderSkipsOverwrittenEvents() {
+		OrderEventRingBuffer ring = new OrderEventRingBuffer(4);
+		for (int i = 0; i < 10; i++) {
+			publish(ring, "A");
+		}
+
+		List<OrderEvent> out = new ArrayList<>();
+		long next = ring.read(2, 10, e -> true, out);
+
+		assertThat(ring.getOldestAvailable()).isEqualTo(7);
+		assertThat(next).isEqualTo(11);
+		assertThat(out).extracting(OrderEvent::getSequence).containsExactly(7L, 8L, 9L, 10L);
+	}
+
+	private static void publish(OrderEventRingBuffer ring, String customerId) {
+		Order order = new Order("id", customerId, "Laptop", 10.0, OrderStatus.CREATED);
+		ring.publish(new OrderEvent(0, OrderEventType.CREATED, Instant.now(), order));
+	}
+}
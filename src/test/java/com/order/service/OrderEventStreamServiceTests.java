@@ -0,0 +1,181 @@
+package com.order.service;
+
+import com.order.dto.OrderEvent;
+import com.order.enums.OrderEventType;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderEventStreamServiceTests {
+
+	private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+	private final CountDownLatch releaseSlow = new CountDownLatch(1);
+	private OrderEventStreamService service;
+
+	@AfterEach
+	void tearDown() {
+		releaseSlow.countDown();
+		service.shutdown();
+	}
+
+	@Test
+	void streamsNewEventsFilteredByCustomer() throws Exception {
+		service = service(8, 1);
+		RecordingEmitter all = subscribe(null, null);
+		RecordingEmitter customerA = subscribe("A", null);
+
+		publish("A");
+		publish("B");
+		publish("A");
+
+		waitFor(() -> all.sequences().size() == 3 && customerA.sequences().size() == 2);
+		assertThat(all.sequences()).containsExactly(1L, 2L, 3L);
+		assertThat(customerA.sequences()).containsExactly(1L, 3L);
+	}
+
+	@Test
+	void resumesAfterLastEventIdWithoutGapsOrDuplicates() throws Exception {
+		service = service(8, 1);
+		publish("A");
+		publish("A");
+		publish("A");
+
+		RecordingEmitter resumed = subscribe(null, 1L);
+		publish("A");
+
+		waitFor(() -> resumed.sequences().size() == 3);
+		assertThat(resumed.sequences()).containsExactly(2L, 3L, 4L);
+		assertThat(resumed.sent).doesNotContain(OVERFLOW);
+	}
+
+	@Test
+	void reportsOverflowWhenResumePointWasOverwritten() throws Exception {
+		service = service(8, 1);
+		for (int i = 0; i < 12; i++) {
+			publish("A");
+		}
+
+		RecordingEmitter resumed = subscribe(null, 1L);
+
+		waitFor(() -> resumed.sequences().size() == 8);
+		// Events 2 to 4 were overwritten; the ring still holds 5 to 12
+		assertThat(resumed.sent.get(0)).isEqualTo(OVERFLOW);
+		assertThat(resumed.overflowCount).isEqualTo(3);
+		assertThat(resumed.sequences()).containsExactly(5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L);
+	}
+
+	@Test
+	void disconnectsLaggingSubscriberWithoutDelayingOthers() throws Exception {
+		service = service(8, 2);
+		RecordingEmitter slow = subscribe("SLOW", null);
+		slow.stuck = true;
+		RecordingEmitter fast = subscribe(null, null);
+
+		publish("SLOW");
+		waitFor(() -> slow.blocked);
+		// More than the ring holds, paced so that only the stuck subscriber falls behind
+		for (int i = 2; i <= 11; i++) {
+			publish("SLOW");
+			int expected = i;
+			waitFor(() -> fast.sequences().size() == expected);
+		}
+		assertThat(slow.completed).isFalse();
+
+		releaseSlow.countDown();
+		waitFor(() -> slow.completed);
+		assertThat(slow.sequences()).containsExactly(1L);
+		assertThat(service.getSubscriberCount()).isEqualTo(1);
+		// The client resumes from the ring after its last event
+		RecordingEmitter resumed = subscribe("SLOW", slow.sequences().get(slow.sequences().size() - 1));
+		waitFor(() -> resumed.sequences().contains(11L));
+	}
+
+	private OrderEventStreamService service(int bufferSize, int dispatcherThreads) {
+		return new OrderEventStreamService(bufferSize, dispatcherThreads, 60_000) {
+			@Override
+			SseEmitter createEmitter(long timeout) {
+				return new RecordingEmitter();
+			}
+		};
+	}
+
+	private RecordingEmitter subscribe(String customerId, Long lastEventId) {
+		RecordingEmitter emitter = (RecordingEmitter) service.subscribe(customerId, lastEventId);
+		emitters.add(emitter);
+		return emitter;
+	}
+
+	private void publish(String customerId) {
+		service.publish(OrderEventType.CREATED, new Order("ORD", customerId, "Laptop", 100, OrderStatus.CREATED));
+	}
+
+	private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(condition.getAsBoolean()).as("condition met within 5s").isTrue();
+	}
+
+	private static final Object OVERFLOW = "overflow";
+
+	/**
+	 * Records what would be written to the client. Once marked stuck, sends
+	 * block until the test releases them, like a client that stopped reading.
+	 */
+	private final class RecordingEmitter extends SseEmitter {
+
+		private final List<Object> sent = new CopyOnWriteArrayList<>();
+		private volatile long overflowCount;
+		private volatile boolean stuck;
+		private volatile boolean blocked;
+		private volatile boolean completed;
+
+		@Override
+		public void send(SseEventBuilder builder) {
+			for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+				if (part.getData() instanceof OrderEvent event) {
+					if (stuck) {
+						blocked = true;
+						awaitRelease();
+					}
+					sent.add(event);
+				} else if (part.getData() instanceof Long missed) {
+					overflowCount = missed;
+					sent.add(OVERFLOW);
+				}
+			}
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+		}
+
+		List<Long> sequences() {
+			return sent.stream()
+					.filter(OrderEvent.class::isInstance)
+					.map(event -> ((OrderEvent) event).getSequence())
+					.toList();
+		}
+
+		private void awaitRelease() {
+			try {
+				releaseSlow.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.order.service;
+
+import com.order.config.ObjectMapperConfig;
+import com.order.enums.OrderExportFormat;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import com.order.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderExportServiceTests {
+
+	private final OrderRepository repository = new OrderRepository();
+	private final OrderExportService exportService = new OrderExportService(repository,
+			new ObjectMapperConfig().objectMapper());
+
+	@BeforeEach
+	void setUp() {
+		repository.save(new Order("1", "CUST001", "Laptop", 15000.0, OrderStatus.CREATED));
+		repository.save(new Order("2", "CUST002", "Desk, \"oak\"", 300.0, OrderStatus.CANCELLED));
+		repository.save(new Order("3", "CUST001", "Mouse", 20.0, OrderStatus.CREATED));
+	}
+
+	@Test
+	void exportsNdjsonFilteredByStatusAndAmount() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		long count = exportService.export(OrderExportFormat.NDJSON, OrderStatus.CREATED, 100.0, null, out);
+
+		assertThat(count).isEqualTo(1);
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+				"{\"orderId\":\"1\",\"customerId\":\"CUST001\",\"product\":\"Laptop\",\"amount\":15000.0,\"status\":\"CREATED\"}\n");
+	}
+
+	@Test
+	void exportsCsvWithQuotedFields() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		long count = exportService.export(OrderExportFormat.CSV, OrderStatus.CANCELLED, null, null, out);
+
+		assertThat(count).isEqualTo(1);
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+				"orderId,customerId,product,amount,status\n2,CUST002,\"Desk, \"\"oak\"\"\",300.0,CANCELLED\n");
+	}
+
+	@Test
+	void exportsCsvAmountsInPlainNotation() throws Exception {
+		repository.save(new Order("4", "CUST003", "Server", 12_500_000.0, OrderStatus.SHIPPED));
+		repository.save(new Order("5", "CUST003", "Sticker", 0.0001, OrderStatus.SHIPPED));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		exportService.export(OrderExportFormat.CSV, OrderStatus.SHIPPED, null, null, out);
+
+		assertThat(out.toString(StandardCharsets.UTF_8)).contains("Server,12500000,SHIPPED\n")
+				.contains("Sticker,0.00010,SHIPPED\n")
+				.doesNotContain("E7").doesNotContain("E-4");
+	}
+}
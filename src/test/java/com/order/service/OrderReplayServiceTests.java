@@ -0,0 +1,164 @@
+package com.order.service;
+
+import com.order.apachecamel.OrderFileSplitter;
+import com.order.apachecamel.OrderReplayRoute;
+import com.order.config.ObjectMapperConfig;
+import com.order.dto.ReplayStatusResponse;
+import com.order.enums.ReplayState;
+import com.order.exception.ReplayInProgressException;
+import com.order.model.Order;
+import org.apache.camel.ProducerTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OrderReplayServiceTests {
+
+	private static final String VALID = "{\"orderId\":\"o-1\",\"customerId\":\"CUST001\",\"product\":\"Laptop\",\"amount\":10.0}";
+	private static final String INVALID = "{\"orderId\":\"o-2\",\"customerId\":\"CUST001\",\"product\":\"Laptop\",\"amount\":0}";
+
+	@TempDir
+	Path errorDir;
+
+	private final ProducerTemplate producer = mock(ProducerTemplate.class);
+	private OrderReplayService service;
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void republishesValidRecordsAndKeepsInvalidOnes() throws Exception {
+		Files.writeString(errorDir.resolve("a-0.json"), VALID);
+		Files.writeString(errorDir.resolve("b.json"), VALID + "\n" + INVALID);
+		Files.writeString(errorDir.resolve("c.json"), "{not json");
+		service = replayService(0);
+
+		ReplayStatusResponse status = awaitFinished(service.start());
+
+		assertThat(status.getState()).isEqualTo(ReplayState.COMPLETED);
+		assertThat(status.getProcessedFiles()).isEqualTo(3);
+		assertThat(status.getRepublishedRecords()).isEqualTo(2);
+		// The unparseable file is yielded as one invalid record
+		assertThat(status.getInvalidRecords()).isEqualTo(2);
+		verify(producer, times(2)).sendBody(eq(OrderReplayRoute.ENDPOINT), any(Order.class));
+		assertThat(errorDir.resolve("a-0.json")).doesNotExist();
+		assertThat(errorDir.resolve("replayed/a-0.json")).exists();
+		assertThat(Files.readString(errorDir.resolve("b.json")).trim()).isEqualTo(INVALID);
+		assertThat(Files.readString(errorDir.resolve("c.json")).trim()).isEqualTo("{not json");
+	}
+
+	@Test
+	void malformedSuffixIsNotRepublishedOnLaterReplays() throws Exception {
+		String tail = "{\"orderId\":\"o-3\",\"amount\": }]";
+		Files.writeString(errorDir.resolve("batch.json"), "[" + order("o-1") + ",\n" + order("o-2") + ",\n" + tail);
+		service = replayService(0);
+
+		ReplayStatusResponse first = awaitFinished(service.start());
+		ReplayStatusResponse second = awaitFinished(service.start());
+
+		assertThat(first.getRepublishedRecords()).isEqualTo(2);
+		assertThat(second.getRepublishedRecords()).isZero();
+		verify(producer, times(2)).sendBody(eq(OrderReplayRoute.ENDPOINT), any(Order.class));
+		assertThat(Files.readString(errorDir.resolve("batch.json")).trim()).isEqualTo(tail);
+	}
+
+	@Test
+	void resumesAfterRecordsSentBeforeBrokerFailure() throws Exception {
+		Files.writeString(errorDir.resolve("batch.ndjson"), order("o-1") + "\n" + order("o-2") + "\n" + order("o-3"));
+		List<String> sent = new ArrayList<>();
+		AtomicBoolean brokerDown = new AtomicBoolean(true);
+		doAnswer(invocation -> {
+			Order order = invocation.getArgument(1);
+			if (order.getOrderId().equals("o-2") && brokerDown.get()) {
+				throw new IllegalStateException("Broker unavailable");
+			}
+			sent.add(order.getOrderId());
+			return null;
+		}).when(producer).sendBody(eq(OrderReplayRoute.ENDPOINT), any(Order.class));
+		service = replayService(0);
+
+		awaitFinished(service.start());
+		assertThat(errorDir.resolve("batch.ndjson")).exists();
+		brokerDown.set(false);
+		awaitFinished(service.start());
+
+		assertThat(sent).containsExactly("o-1", "o-2", "o-3");
+		assertThat(errorDir.resolve("replayed/batch.ndjson")).exists();
+		assertThat(errorDir.resolve(".batch.ndjson.offset")).doesNotExist();
+	}
+
+	@Test
+	void resumedReplayDoesNotCountSkippedInvalidRecordsAgain() throws Exception {
+		Files.writeString(errorDir.resolve("mixed.ndjson"), INVALID + "\n" + order("o-1") + "\n" + order("o-2"));
+		AtomicBoolean brokerDown = new AtomicBoolean(true);
+		doAnswer(invocation -> {
+			if (((Order) invocation.getArgument(1)).getOrderId().equals("o-2") && brokerDown.get()) {
+				throw new IllegalStateException("Broker unavailable");
+			}
+			return null;
+		}).when(producer).sendBody(eq(OrderReplayRoute.ENDPOINT), any(Order.class));
+		service = replayService(0);
+
+		ReplayStatusResponse failed = awaitFinished(service.start());
+		brokerDown.set(false);
+		ReplayStatusResponse resumed = awaitFinished(service.start());
+
+		assertThat(failed.getInvalidRecords()).isEqualTo(1);
+		assertThat(resumed.getInvalidRecords()).isZero();
+		assertThat(resumed.getRepublishedRecords()).isEqualTo(1);
+		assertThat(Files.readString(errorDir.resolve("mixed.ndjson"))).isEqualTo(INVALID + "\n");
+		assertThat(errorDir.resolve(".mixed.ndjson.remaining")).doesNotExist();
+	}
+
+	@Test
+	void throttlesAndRejectsConcurrentReplays() throws Exception {
+		for (int i = 0; i < 20; i++) {
+			Files.writeString(errorDir.resolve("order-" + i + ".json"), VALID);
+		}
+		service = replayService(100);
+
+		long start = System.nanoTime();
+		service.start();
+		assertThatThrownBy(service::start).isInstanceOf(ReplayInProgressException.class);
+		ReplayStatusResponse status = awaitFinished(service.getStatus());
+
+		assertThat(status.getRepublishedRecords()).isEqualTo(20);
+		// 20 records at 100 per second take at least 190ms
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(150_000_000L);
+	}
+
+	private static String order(String orderId) {
+		return "{\"orderId\":\"" + orderId + "\",\"customerId\":\"CUST001\",\"product\":\"Laptop\",\"amount\":10.0}";
+	}
+
+	private OrderReplayService replayService(int maxPerSecond) {
+		return new OrderReplayService(new OrderFileSplitter(), new ObjectMapperConfig().objectMapper(), producer,
+				errorDir.toString(), 4, maxPerSecond);
+	}
+
+	private ReplayStatusResponse awaitFinished(ReplayStatusResponse status) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (status.getState() == ReplayState.RUNNING && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+			status = service.getStatus();
+		}
+		return status;
+	}
+}
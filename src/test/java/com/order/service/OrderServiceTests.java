@@ -0,0 +1,104 @@
+package com.order.service;
+
+import com.order.config.ObjectMapperConfig;
+import com.order.dto.CreateOrderRequest;
+import com.order.dto.OrderPageResponse;
+import com.order.enums.OrderStatus;
+import com.order.model.Order;
+import com.order.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderServiceTests {
+
+	private final CountDownLatch saveStarted = new CountDownLatch(1);
+	private final CountDownLatch releaseSave = new CountDownLatch(1);
+	// Saves for customer "SLOW" block until released, holding a persistence thread
+	private final OrderRepository repository = new OrderRepository() {
+		@Override
+		public void save(Order order) {
+			if ("SLOW".equals(order.getCustomerId())) {
+				saveStarted.countDown();
+				try {
+					releaseSave.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			super.save(order);
+		}
+	};
+	private final OrderEventStreamService eventStream = new OrderEventStreamService(16, 1, 60_000);
+	private final ClusterService cluster = new ClusterService(repository, false, "http://localhost:8080", List.of(),
+			16, 1000, 60_000, "");
+	private OrderService service;
+
+	@AfterEach
+	void tearDown() {
+		releaseSave.countDown();
+		service.shutdown();
+		eventStream.shutdown();
+	}
+
+	@Test
+	void asyncCreateCompletesOnceOrderIsSaved() throws Exception {
+		service = orderService(1, 10);
+
+		Order order = service.createOrderAsync(new CreateOrderRequest("CUST001", "Laptop", 100.0))
+				.get(5, TimeUnit.SECONDS);
+
+		assertThat(order.getStatus()).isEqualTo(OrderStatus.CREATED);
+		assertThat(repository.findById(order.getOrderId())).containsSame(order);
+	}
+
+	@Test
+	void asyncCreateRejectsWhenPersistenceQueueIsFull() throws Exception {
+		service = orderService(1, 1);
+		CompletableFuture<Order> running = service.createOrderAsync(new CreateOrderRequest("SLOW", "Laptop", 100.0));
+		assertThat(saveStarted.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<Order> queued = service.createOrderAsync(new CreateOrderRequest("CUST001", "Laptop", 100.0));
+
+		assertThatThrownBy(() -> service.createOrderAsync(new CreateOrderRequest("CUST002", "Laptop", 100.0)))
+				.isInstanceOf(RejectedExecutionException.class);
+
+		releaseSave.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS).getCustomerId()).isEqualTo("SLOW");
+		assertThat(queued.get(5, TimeUnit.SECONDS).getCustomerId()).isEqualTo("CUST001");
+	}
+
+	@Test
+	void filterPagesReadOnlyTheRequestedSliceAndCapTheCount() {
+		service = orderService(1, 10);
+		for (int i = 0; i < 10_050; i++) {
+			repository.save(new Order("ORD" + i, "CUST" + (i % 100), "Laptop", i, OrderStatus.CREATED));
+		}
+
+		OrderPageResponse page = service.filterOrders(null, OrderStatus.CREATED, null, null, 2, 10);
+		assertThat(page.getContent()).extracting(Order::getAmount).containsExactly(
+				20.0, 21.0, 22.0, 23.0, 24.0, 25.0, 26.0, 27.0, 28.0, 29.0);
+		assertThat(page.getTotalElements()).isEqualTo(10_050);
+		assertThat(page.isTotalExact()).isTrue();
+
+		OrderPageResponse ranged = service.filterOrders(null, null, 10.0, null, 0, 5);
+		assertThat(ranged.getContent()).extracting(Order::getOrderId).containsExactly(
+				"ORD10", "ORD11", "ORD12", "ORD13", "ORD14");
+		assertThat(ranged.getTotalElements()).isEqualTo(10_000);
+		assertThat(ranged.isTotalExact()).isFalse();
+
+		assertThat(service.filterOrders(null, null, 10_000.0, null, 0, 5).isTotalExact()).isTrue();
+	}
+
+	private OrderService orderService(int persistenceThreads, int persistenceQueue) {
+		return new OrderService(repository, new ObjectMapperConfig().objectMapper(), eventStream, cluster,
+				persistenceThreads, persistenceQueue, 1, 10, 5000, false);
+	}
+}